@@ -0,0 +1,71 @@
+#!/usr/bin/env bash
+#
+# Measures time-to-first-request and resident memory of the todo service.
+#
+#   mvn -Pfaststart -DskipTests package
+#   scripts/measure-startup.sh jar          # today's executable jar
+#   scripts/measure-startup.sh classpath    # default profile on the plain classpath
+#   scripts/measure-startup.sh faststart    # faststart profile + AppCDS archive (JDK 13+)
+#
+# The faststart mode creates target/todo-service.jsa on its first run (training run),
+# so run it twice and keep the second number.
+#
+# The classpath and faststart modes use the thin jar plus target/lib, or APP_CLASSPATH when set.
+# AppCDS only archives classes from jars, so APP_CLASSPATH should not contain directories.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+MODE="${1:-jar}"
+PORT="${PORT:-8080}"
+URL="http://localhost:${PORT}/api/todos"
+JAR="target/todo-service-1.0.0.jar"
+THIN_JAR="${JAR}.original"
+ARCHIVE="target/todo-service.jsa"
+CLASSPATH_ARG="${APP_CLASSPATH:-${THIN_JAR}:target/lib/*}"
+
+case "$MODE" in
+  jar)
+    CMD=(java -jar "$JAR" --server.port="$PORT")
+    ;;
+  classpath)
+    CMD=(java -cp "$CLASSPATH_ARG" com.todobackend.TodoServiceApplication --server.port="$PORT")
+    ;;
+  faststart)
+    if [ -f "$ARCHIVE" ]; then
+      CDS=(-XX:SharedArchiveFile="$ARCHIVE")
+    else
+      CDS=(-XX:ArchiveClassesAtExit="$ARCHIVE")
+    fi
+    CMD=(java "${CDS[@]}" -XX:TieredStopAtLevel=1 -Xss512k
+         -cp "$CLASSPATH_ARG" com.todobackend.TodoServiceApplication
+         --spring.profiles.active=faststart --server.port="$PORT")
+    ;;
+  *)
+    echo "usage: $0 [jar|classpath|faststart]" >&2
+    exit 1
+    ;;
+esac
+
+start=$(date +%s%N)
+"${CMD[@]}" > "target/measure-${MODE}.log" 2>&1 &
+pid=$!
+trap 'kill "$pid" 2>/dev/null || true' EXIT
+
+until curl -sf -o /dev/null "$URL"; do
+  if ! kill -0 "$pid" 2>/dev/null; then
+    echo "service exited, see target/measure-${MODE}.log" >&2
+    exit 1
+  fi
+  sleep 0.05
+done
+end=$(date +%s%N)
+
+rss_kb=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")
+echo "mode=${MODE} time_to_first_request_ms=$(( (end - start) / 1000000 )) rss_mb=$(( rss_kb / 1024 ))"
+
+# Stop cleanly so that a training run can write the CDS archive
+kill -TERM "$pid"
+wait "$pid" 2>/dev/null || true
+trap - EXIT
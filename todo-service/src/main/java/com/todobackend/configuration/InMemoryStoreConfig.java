@@ -0,0 +1,48 @@
+package com.todobackend.configuration;
+
+import com.todobackend.repository.InMemoryTodoSnapshotter;
+import com.todobackend.repository.InMemoryTodoStore;
+import com.todobackend.repository.TodoWriteAheadLog;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Paths;
+
+/**
+ * Wires the in-memory todo store used by the {@code inmemory} profile.
+ * {@code todo.inmemory.persistence} selects how it is persisted to local disk:
+ * {@code none}, periodic {@code snapshot}s, or a {@code wal} (write-ahead log with checkpoints).
+ *
+ * Persistence beans are never lazy, as nothing else depends on them but they must load the store.
+ */
+@Configuration
+@Profile("inmemory")
+public class InMemoryStoreConfig {
+
+    @Bean
+    public InMemoryTodoStore inMemoryTodoStore(@Value("${todo.inmemory.stripes:16}") int stripes) {
+        return new InMemoryTodoStore(stripes);
+    }
+
+    @Bean(initMethod = "load", destroyMethod = "write")
+    @Lazy(false)
+    @ConditionalOnProperty(name = "todo.inmemory.persistence", havingValue = "snapshot")
+    public InMemoryTodoSnapshotter inMemoryTodoSnapshotter(InMemoryTodoStore store,
+            @Value("${todo.inmemory.snapshot.path:data/todos.snapshot}") String path) {
+        return new InMemoryTodoSnapshotter(store, Paths.get(path));
+    }
+
+    @Bean(initMethod = "recover", destroyMethod = "close")
+    @Lazy(false)
+    @ConditionalOnProperty(name = "todo.inmemory.persistence", havingValue = "wal")
+    public TodoWriteAheadLog todoWriteAheadLog(InMemoryTodoStore store,
+            @Value("${todo.inmemory.wal.directory:data/wal}") String directory,
+            @Value("${todo.inmemory.wal.sync-on-write:true}") boolean syncOnWrite,
+            @Value("${todo.inmemory.wal.fsync-interval-ms:10}") long fsyncIntervalMs) {
+        return new TodoWriteAheadLog(store, Paths.get(directory), syncOnWrite, fsyncIntervalMs);
+    }
+}
@@ -0,0 +1,32 @@
+package com.todobackend.configuration;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends connections for read-only transactions to the replica pool and everything else
+ * to the primary. Must be wrapped in a LazyConnectionDataSourceProxy so that the
+ * transaction's read-only flag is known when the connection is fetched.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public enum Target {
+        PRIMARY,
+        REPLICA
+    }
+
+    private final ReadYourWritesTracker tracker;
+
+    public ReadWriteRoutingDataSource(ReadYourWritesTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return tracker.replicaIsCurrent() ? Target.REPLICA : Target.PRIMARY;
+        }
+        tracker.recordWrite();
+        return Target.PRIMARY;
+    }
+}
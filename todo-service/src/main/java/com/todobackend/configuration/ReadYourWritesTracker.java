@@ -0,0 +1,81 @@
+package com.todobackend.configuration;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Read-your-writes support for replica routing.
+ *
+ * After a write transaction commits, its commit time is returned to the client in the
+ * {@value #HEADER} response header. Clients send the header back on later requests;
+ * reads are kept on the primary until that write is older than the allowed replica lag.
+ * Requests without the header may read from the replica straight away.
+ */
+public class ReadYourWritesTracker {
+
+    public static final String HEADER = "X-Todo-Last-Write";
+
+    private final long maxReplicaLagMs;
+
+    public ReadYourWritesTracker(long maxReplicaLagMs) {
+        this.maxReplicaLagMs = maxReplicaLagMs;
+    }
+
+    /**
+     * @return true if the current request may be served by the replica
+     */
+    public boolean replicaIsCurrent() {
+        HttpServletRequest request = currentRequest();
+        String lastWrite = request == null ? null : request.getHeader(HEADER);
+        if (lastWrite == null) {
+            return true;
+        }
+        try {
+            return System.currentTimeMillis() - Long.parseLong(lastWrite.trim()) > maxReplicaLagMs;
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    /**
+     * Arranges for the commit time of the current transaction to be sent to the client.
+     * Does nothing outside of a transaction or a web request.
+     */
+    public void recordWrite() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes)) {
+            return;
+        }
+        HttpServletResponse response = ((ServletRequestAttributes) attributes).getResponse();
+        if (response == null) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                response.setHeader(HEADER, Long.toString(System.currentTimeMillis()));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ReadYourWritesTracker.this);
+            }
+        });
+    }
+
+    private static HttpServletRequest currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? ((ServletRequestAttributes) attributes).getRequest() : null;
+    }
+}
@@ -0,0 +1,94 @@
+package com.todobackend.entity;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+import java.time.Instant;
+
+/**
+ * A completed todo moved out of the todo table by the archival job.
+ * Keeps the id it had as a todo.
+ */
+@Entity
+public class ArchivedTodo implements Persistable<Long> {
+
+    @Id
+    private Long id;
+
+    private String title;
+    private boolean completed;
+    private Instant completedAt;
+    private Instant archivedAt;
+
+    // Ids are assigned from the todo, so tell Spring Data to insert without a lookup first
+    @Transient
+    private boolean newEntity = true;
+
+    public static ArchivedTodo from(Todo todo, Instant archivedAt) {
+        ArchivedTodo archivedTodo = new ArchivedTodo();
+        archivedTodo.setId(todo.getId());
+        archivedTodo.setTitle(todo.getTitle());
+        archivedTodo.setCompleted(todo.isCompleted());
+        archivedTodo.setCompletedAt(todo.getCompletedAt());
+        archivedTodo.setArchivedAt(archivedAt);
+        return archivedTodo;
+    }
+
+    @Override
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    public void setCompleted(boolean completed) {
+        this.completed = completed;
+    }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+
+    public void setArchivedAt(Instant archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    @JsonIgnore
+    public boolean isNew() {
+        return newEntity;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        newEntity = false;
+    }
+}
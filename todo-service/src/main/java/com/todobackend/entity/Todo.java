@@ -1,12 +1,22 @@
 package com.todobackend.entity;
 
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+import javax.persistence.Table;
+import javax.persistence.Version;
 import javax.validation.constraints.Size;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
 
 @Entity
+@Table(indexes = @Index(name = "idx_todo_completed_at", columnList = "completed, completedAt"))
 public class Todo {
 
     @Id
@@ -17,6 +27,13 @@ public class Todo {
     private String title;
     private boolean completed = false;
 
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Instant completedAt;
+
+    // Bumped on every update; an update sent with an older version is rejected as a conflict
+    @Version
+    private Long version;
+
     public Long getId() {
         return id;
     }
@@ -40,4 +57,41 @@ public class Todo {
     public void setCompleted(boolean completed) {
         this.completed = completed;
     }
+
+    public Instant getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(Instant completedAt) {
+        this.completedAt = completedAt;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    /**
+     * Keeps completedAt in step with the completed flag; used to find todos to archive.
+     */
+    @PrePersist
+    @PreUpdate
+    void updateCompletedAt() {
+        if (!completed) {
+            completedAt = null;
+        } else if (completedAt == null) {
+            completedAt = now();
+        }
+    }
+
+    /**
+     * Current time at the millisecond precision every engine can store, so a returned
+     * completedAt matches what is read back later.
+     */
+    public static Instant now() {
+        return Instant.now().truncatedTo(ChronoUnit.MILLIS);
+    }
 }
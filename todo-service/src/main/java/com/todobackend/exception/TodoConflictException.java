@@ -0,0 +1,16 @@
+package com.todobackend.exception;
+
+/**
+ * Thrown when a conditional update finds the Todo in a different state
+ * than the caller expected.
+ */
+public class TodoConflictException extends TodoServiceException {
+
+    public TodoConflictException(String message) {
+        super(message);
+    }
+
+    public TodoConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
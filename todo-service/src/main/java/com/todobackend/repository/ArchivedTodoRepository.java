@@ -0,0 +1,7 @@
+package com.todobackend.repository;
+
+import com.todobackend.entity.ArchivedTodo;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface ArchivedTodoRepository extends JpaRepository<ArchivedTodo, Long> {
+}
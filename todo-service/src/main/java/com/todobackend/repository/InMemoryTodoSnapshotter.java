@@ -0,0 +1,161 @@
+package com.todobackend.repository;
+
+import com.todobackend.exception.TodoServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes the contents of an {@link InMemoryTodoStore} to a local snapshot file
+ * and loads it back on startup.
+ *
+ * Snapshots are written to a temporary file, synced and then atomically moved
+ * over the previous one, so a crash while writing leaves the last good snapshot in place.
+ * Loading maps the file into memory and checks its CRC before applying any record.
+ */
+public class InMemoryTodoSnapshotter {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTodoSnapshotter.class);
+
+    private static final int MAGIC = 0x54445334; // "TDS4"
+
+    private final InMemoryTodoStore store;
+    private final Path path;
+
+    public InMemoryTodoSnapshotter(InMemoryTodoStore store, Path path) {
+        this.store = store;
+        this.path = path;
+    }
+
+    /**
+     * Loads the snapshot file into the store, if one exists.
+     *
+     * @return the first write-ahead log segment not covered by the snapshot, or 0 if there is no snapshot
+     * @throws TodoServiceException if the snapshot cannot be read or is corrupt
+     */
+    public long load() {
+        if (!Files.exists(path)) {
+            logger.info("No todo snapshot found at {}", path);
+            return 0;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new TodoServiceException("Todo snapshot too large to map: " + path);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            verifyChecksum(buffer);
+            if (buffer.getInt() != MAGIC) {
+                throw new TodoServiceException("Not a todo snapshot: " + path);
+            }
+            store.advanceSequence(buffer.getLong());
+            long walSegment = buffer.getLong();
+            int count = 0;
+            long id;
+            while ((id = buffer.getLong()) != LongTodoTable.EMPTY) {
+                boolean completed = buffer.get() != 0;
+                long completedAt = buffer.getLong();
+                long version = buffer.getLong();
+                int length = buffer.getInt();
+                byte[] title = null;
+                if (length >= 0) {
+                    title = new byte[length];
+                    buffer.get(title);
+                }
+                store.restore(id, title, completed, completedAt, version);
+                count++;
+            }
+            logger.info("Loaded {} todos from snapshot {}", count, path);
+            return walSegment;
+        } catch (IOException | BufferUnderflowException e) {
+            logger.error("Error occurred while loading todo snapshot {}", path, e);
+            throw new TodoServiceException("Failed to load todo snapshot " + path, e);
+        }
+    }
+
+    /**
+     * Writes the current store contents to the snapshot file.
+     *
+     * @throws TodoServiceException if the snapshot cannot be written
+     */
+    @Scheduled(fixedDelayString = "${todo.inmemory.snapshot.interval-ms:60000}",
+            initialDelayString = "${todo.inmemory.snapshot.interval-ms:60000}")
+    public void write() {
+        write(0);
+    }
+
+    /**
+     * Writes the current store contents to the snapshot file, recording the first
+     * write-ahead log segment that still has to be replayed on top of it.
+     *
+     * @param walSegment the first log segment not covered by this snapshot
+     * @throws TodoServiceException if the snapshot cannot be written
+     */
+    public synchronized void write(long walSegment) {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (FileOutputStream file = new FileOutputStream(tmp.toFile())) {
+                CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+                DataOutputStream out = new DataOutputStream(checked);
+                out.writeInt(MAGIC);
+                out.writeLong(store.lastId());
+                out.writeLong(walSegment);
+                store.forEach((id, title, completed, completedAt, version) -> {
+                    try {
+                        out.writeLong(id);
+                        out.writeBoolean(completed);
+                        out.writeLong(completedAt);
+                        out.writeLong(version);
+                        out.writeInt(title == null ? -1 : title.length);
+                        if (title != null) {
+                            out.write(title);
+                        }
+                    } catch (IOException e) {
+                        throw new TodoServiceException("Failed to write todo snapshot " + path, e);
+                    }
+                });
+                out.writeLong(LongTodoTable.EMPTY);
+                out.writeInt((int) checked.getChecksum().getValue());
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.info("Wrote todo snapshot to {}", path);
+        } catch (IOException e) {
+            logger.error("Error occurred while writing todo snapshot {}", path, e);
+            throw new TodoServiceException("Failed to write todo snapshot " + path, e);
+        }
+    }
+
+    private void verifyChecksum(ByteBuffer buffer) {
+        if (buffer.limit() < Integer.BYTES) {
+            throw new TodoServiceException("Truncated todo snapshot: " + path);
+        }
+        int expected = buffer.getInt(buffer.limit() - Integer.BYTES);
+        ByteBuffer body = buffer.duplicate();
+        body.limit(buffer.limit() - Integer.BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if ((int) crc.getValue() != expected) {
+            throw new TodoServiceException("Checksum mismatch in todo snapshot: " + path);
+        }
+    }
+}
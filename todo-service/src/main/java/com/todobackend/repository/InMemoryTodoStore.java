@@ -0,0 +1,353 @@
+package com.todobackend.repository;
+
+import com.todobackend.entity.Todo;
+import com.todobackend.exception.TodoConflictException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory storage for Todo state, used instead of the JPA repository by the
+ * {@code inmemory} profile.
+ *
+ * Entries are spread over a fixed number of lock stripes, each holding a
+ * {@link LongTodoTable} keyed by primitive ids. Readers of different stripes never
+ * block each other and writers only lock the stripe that owns the id.
+ * Every read returns a fresh, detached {@link Todo}.
+ *
+ * Like the JPA entity, each entry records when it was completed: the time is set when
+ * an entry becomes completed, kept while it stays completed and cleared otherwise.
+ * It is stored and reported to listeners as epoch millis, 0 meaning not completed.
+ * Each entry also has a version, starting at 0 and bumped on every change, so an update
+ * can be made conditional on the version the caller last read.
+ */
+public class InMemoryTodoStore {
+
+    /**
+     * Callback for iterating over the raw stored records, e.g. to write a snapshot.
+     */
+    public interface RecordVisitor {
+        void visit(long id, byte[] title, boolean completed, long completedAt, long version);
+    }
+
+    /**
+     * Receives every change before it is applied, e.g. to append it to a write-ahead log.
+     * The {@code on*} callbacks run while the affected stripes are write-locked, so changes
+     * to the same id are reported in the order they are applied. If one of them throws,
+     * the change is not applied. {@link #afterChange()} runs once the locks are released;
+     * if it throws, the change has already been applied and stays visible.
+     */
+    public interface ChangeListener {
+        void onPut(long id, byte[] title, boolean completed, long completedAt, long version);
+
+        void onRemove(long id);
+
+        void onClear();
+
+        void afterChange();
+    }
+
+    private static final ChangeListener NO_LISTENER = new ChangeListener() {
+        @Override
+        public void onPut(long id, byte[] title, boolean completed, long completedAt, long version) {
+        }
+
+        @Override
+        public void onRemove(long id) {
+        }
+
+        @Override
+        public void onClear() {
+        }
+
+        @Override
+        public void afterChange() {
+        }
+    };
+
+    private static final int INITIAL_STRIPE_SIZE = 64;
+
+    private final Stripe[] stripes;
+    private final int stripeShift;
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile ChangeListener listener = NO_LISTENER;
+
+    public InMemoryTodoStore(int stripeCount) {
+        if (stripeCount < 1 || Integer.bitCount(stripeCount) != 1) {
+            throw new IllegalArgumentException("Stripe count must be a power of two: " + stripeCount);
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+        this.stripeShift = 64 - Integer.numberOfTrailingZeros(stripeCount);
+    }
+
+    /**
+     * Registers the listener that is told about every following change.
+     * Changes made through {@link #restore} are never reported.
+     */
+    public void setChangeListener(ChangeListener listener) {
+        this.listener = listener == null ? NO_LISTENER : listener;
+    }
+
+    public Todo insert(String title, boolean completed) {
+        long id = sequence.incrementAndGet();
+        byte[] encoded = encode(title);
+        long completedAt = completed ? System.currentTimeMillis() : 0L;
+        Stripe stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            listener.onPut(id, encoded, completed, completedAt, 0L);
+            stripe.table.put(id, encoded, completed, completedAt, 0L);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        listener.afterChange();
+        return toTodo(id, encoded, completed, completedAt, 0L);
+    }
+
+    public Todo find(long id) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.readLock().lock();
+        try {
+            int index = stripe.table.indexOf(id);
+            return index < 0 ? null : toTodo(id, stripe.table.titleAt(index), stripe.table.completed(index),
+                    stripe.table.completedAt(index), stripe.table.versionAt(index));
+        } finally {
+            stripe.lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the title and completed flag of an existing entry, whatever its version.
+     *
+     * @return the updated Todo, or null if the id is not present
+     */
+    public Todo update(long id, String title, boolean completed) {
+        return update(id, title, completed, null);
+    }
+
+    /**
+     * Replaces the title and completed flag of an existing entry.
+     *
+     * @param expectedVersion the version the entry must still have, or null to update any version
+     * @return the updated Todo, or null if the id is not present
+     * @throws TodoConflictException if the entry is no longer at the expected version
+     */
+    public Todo update(long id, String title, boolean completed, Long expectedVersion) {
+        byte[] encoded = encode(title);
+        Stripe stripe = stripeFor(id);
+        long completedAt;
+        long version;
+        stripe.lock.writeLock().lock();
+        try {
+            int index = stripe.table.indexOf(id);
+            if (index < 0) {
+                return null;
+            }
+            if (expectedVersion != null && stripe.table.versionAt(index) != expectedVersion) {
+                throw new TodoConflictException("Todo with ID: " + id + " is no longer at version " + expectedVersion);
+            }
+            completedAt = completedAt(stripe.table, index, completed);
+            version = stripe.table.versionAt(index) + 1;
+            listener.onPut(id, encoded, completed, completedAt, version);
+            stripe.table.setAt(index, encoded, completed, completedAt, version);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        listener.afterChange();
+        return toTodo(id, encoded, completed, completedAt, version);
+    }
+
+    /**
+     * Sets the completed flag of an entry only if it currently has the expected value.
+     *
+     * @return the updated Todo, or null if the id is not present
+     * @throws TodoConflictException if the completed flag does not have the expected value
+     */
+    public Todo compareAndSetCompleted(long id, boolean expected, boolean completed) {
+        Stripe stripe = stripeFor(id);
+        byte[] title;
+        long completedAt;
+        long version;
+        stripe.lock.writeLock().lock();
+        try {
+            int index = stripe.table.indexOf(id);
+            if (index < 0) {
+                return null;
+            }
+            if (stripe.table.completed(index) != expected) {
+                throw new TodoConflictException("Todo with ID: " + id + " is not completed=" + expected);
+            }
+            title = stripe.table.titleAt(index);
+            completedAt = completedAt(stripe.table, index, completed);
+            version = stripe.table.versionAt(index);
+            if (expected != completed) {
+                version++;
+                listener.onPut(id, title, completed, completedAt, version);
+                stripe.table.setAt(index, title, completed, completedAt, version);
+            }
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        if (expected != completed) {
+            listener.afterChange();
+        }
+        return toTodo(id, title, completed, completedAt, version);
+    }
+
+    /**
+     * @return true if an entry was removed
+     */
+    public boolean remove(long id) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            if (stripe.table.indexOf(id) < 0) {
+                return false;
+            }
+            listener.onRemove(id);
+            stripe.table.remove(id);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        listener.afterChange();
+        return true;
+    }
+
+    /**
+     * Returns all entries ordered by id. Each stripe is read consistently,
+     * but writes to other stripes may interleave with the scan.
+     */
+    public List<Todo> findAll() {
+        List<Todo> todos = new ArrayList<>();
+        forEach((id, title, completed, completedAt, version) ->
+                todos.add(toTodo(id, title, completed, completedAt, version)));
+        todos.sort(Comparator.comparing(Todo::getId));
+        return todos;
+    }
+
+    public void forEach(RecordVisitor visitor) {
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                LongTodoTable table = stripe.table;
+                for (int i = 0; i < table.capacity(); i++) {
+                    long id = table.keyAt(i);
+                    if (id != LongTodoTable.EMPTY) {
+                        visitor.visit(id, table.titleAt(i), table.completed(i), table.completedAt(i),
+                                table.versionAt(i));
+                    }
+                }
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Puts back a record with a known id, e.g. when loading a snapshot.
+     * Ids handed out by {@link #insert} afterwards are always larger.
+     */
+    public void restore(long id, byte[] title, boolean completed, long completedAt, long version) {
+        Stripe stripe = stripeFor(id);
+        stripe.lock.writeLock().lock();
+        try {
+            stripe.table.put(id, title, completed, completedAt, version);
+        } finally {
+            stripe.lock.writeLock().unlock();
+        }
+        advanceSequence(id);
+    }
+
+    /**
+     * Removes all entries. All stripes are locked at once, so the clear is atomic.
+     */
+    public void clear() {
+        int locked = 0;
+        try {
+            for (Stripe stripe : stripes) {
+                stripe.lock.writeLock().lock();
+                locked++;
+            }
+            listener.onClear();
+            for (Stripe stripe : stripes) {
+                stripe.table.clear();
+            }
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) {
+                stripes[i].lock.writeLock().unlock();
+            }
+        }
+        listener.afterChange();
+    }
+
+    public int size() {
+        int size = 0;
+        for (Stripe stripe : stripes) {
+            stripe.lock.readLock().lock();
+            try {
+                size += stripe.table.size();
+            } finally {
+                stripe.lock.readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return the highest id handed out or restored so far
+     */
+    public long lastId() {
+        return sequence.get();
+    }
+
+    public void advanceSequence(long id) {
+        long current;
+        do {
+            current = sequence.get();
+        } while (current < id && !sequence.compareAndSet(current, id));
+    }
+
+    private Stripe stripeFor(long id) {
+        if (stripes.length == 1) {
+            return stripes[0];
+        }
+        return stripes[(int) ((id * 0xC2B2AE3D27D4EB4FL) >>> stripeShift)];
+    }
+
+    private static byte[] encode(String title) {
+        return title == null ? null : title.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Keeps the completion time of an entry that stays completed, like {@code Todo.updateCompletedAt}.
+     */
+    private static long completedAt(LongTodoTable table, int index, boolean completed) {
+        if (!completed) {
+            return 0L;
+        }
+        return table.completed(index) ? table.completedAt(index) : System.currentTimeMillis();
+    }
+
+    private static Todo toTodo(long id, byte[] title, boolean completed, long completedAt, long version) {
+        Todo todo = new Todo();
+        todo.setId(id);
+        todo.setTitle(title == null ? null : new String(title, StandardCharsets.UTF_8));
+        todo.setCompleted(completed);
+        todo.setCompletedAt(completedAt == 0L ? null : Instant.ofEpochMilli(completedAt));
+        todo.setVersion(version);
+        return todo;
+    }
+
+    private static final class Stripe {
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final LongTodoTable table = new LongTodoTable(INITIAL_STRIPE_SIZE);
+    }
+}
@@ -0,0 +1,192 @@
+package com.todobackend.repository;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Open-addressing hash table keyed by primitive {@code long} ids.
+ * Titles are kept as UTF-8 byte arrays, the completed flags in a bit-set, the
+ * completion times as epoch millis (0 when not completed) and the versions in a
+ * {@code long[]}, all indexed by the same slot, so no boxed keys or per-entry objects
+ * are allocated.
+ *
+ * Uses linear probing with backward-shift deletion, so there are no tombstones.
+ * Not thread-safe; {@link InMemoryTodoStore} guards each table with its own lock.
+ */
+final class LongTodoTable {
+
+    static final long EMPTY = 0L;
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    private long[] keys;
+    private byte[][] titles;
+    private BitSet completed;
+    private long[] completedTimes;
+    private long[] versions;
+    private int mask;
+    private int resizeThreshold;
+    private int size;
+
+    LongTodoTable(int expectedSize) {
+        allocate(tableSizeFor((int) (expectedSize / LOAD_FACTOR) + 1));
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns the slot holding the given id, or -1 if it is not present.
+     */
+    int indexOf(long id) {
+        int i = slot(id);
+        while (true) {
+            long key = keys[i];
+            if (key == id) {
+                return i;
+            }
+            if (key == EMPTY) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    long keyAt(int index) {
+        return keys[index];
+    }
+
+    byte[] titleAt(int index) {
+        return titles[index];
+    }
+
+    boolean completed(int index) {
+        return completed.get(index);
+    }
+
+    long completedAt(int index) {
+        return completedTimes[index];
+    }
+
+    long versionAt(int index) {
+        return versions[index];
+    }
+
+    void setAt(int index, byte[] title, boolean done, long completedAt, long version) {
+        titles[index] = title;
+        completed.set(index, done);
+        completedTimes[index] = completedAt;
+        versions[index] = version;
+    }
+
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Inserts or replaces the entry for the given id.
+     *
+     * @return true if the id was not present before
+     */
+    boolean put(long id, byte[] title, boolean done, long completedAt, long version) {
+        if (id == EMPTY) {
+            throw new IllegalArgumentException("Id must not be " + EMPTY);
+        }
+        int i = slot(id);
+        while (keys[i] != EMPTY) {
+            if (keys[i] == id) {
+                setAt(i, title, done, completedAt, version);
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        setAt(i, title, done, completedAt, version);
+        if (++size > resizeThreshold) {
+            rehash(keys.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * Removes the entry for the given id.
+     *
+     * @return true if the id was present
+     */
+    boolean remove(long id) {
+        int hole = indexOf(id);
+        if (hole < 0) {
+            return false;
+        }
+        // Shift later entries of the probe chain back so lookups never stop early
+        int i = hole;
+        while (true) {
+            i = (i + 1) & mask;
+            long key = keys[i];
+            if (key == EMPTY) {
+                break;
+            }
+            int home = slot(key);
+            boolean staysPut = hole <= i ? (hole < home && home <= i) : (hole < home || home <= i);
+            if (!staysPut) {
+                keys[hole] = key;
+                setAt(hole, titles[i], completed.get(i), completedTimes[i], versions[i]);
+                hole = i;
+            }
+        }
+        keys[hole] = EMPTY;
+        setAt(hole, null, false, 0L, 0L);
+        size--;
+        return true;
+    }
+
+    void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(titles, null);
+        completed.clear();
+        Arrays.fill(completedTimes, 0L);
+        Arrays.fill(versions, 0L);
+        size = 0;
+    }
+
+    private void rehash(int newCapacity) {
+        long[] oldKeys = keys;
+        byte[][] oldTitles = titles;
+        BitSet oldCompleted = completed;
+        long[] oldCompletedTimes = completedTimes;
+        long[] oldVersions = versions;
+        allocate(newCapacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            long key = oldKeys[i];
+            if (key != EMPTY) {
+                int j = slot(key);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = key;
+                setAt(j, oldTitles[i], oldCompleted.get(i), oldCompletedTimes[i], oldVersions[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        titles = new byte[capacity][];
+        completed = new BitSet(capacity);
+        completedTimes = new long[capacity];
+        versions = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private int slot(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 29)) & mask;
+    }
+
+    private static int tableSizeFor(int n) {
+        int capacity = Integer.highestOneBit(Math.max(n, 2) - 1) << 1;
+        return Math.max(capacity, 8);
+    }
+}
@@ -1,7 +1,33 @@
 package com.todobackend.repository;
 
 import com.todobackend.entity.Todo;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import javax.persistence.LockModeType;
+import java.time.Instant;
+import java.util.List;
 
 public interface TodoRepository extends JpaRepository<Todo, Long> {
+
+    /**
+     * Finds completed todos to archive and locks them until the surrounding transaction ends.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<Todo> findByCompletedTrueAndCompletedAtBefore(Instant cutoff, Pageable pageable);
+
+    /**
+     * Sets the completed flag only if it currently has the expected value.
+     *
+     * @return the number of updated rows, 0 if the todo is missing or not in the expected state
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Todo t set t.completed = :completed, t.completedAt = :completedAt, t.version = t.version + 1"
+            + " where t.id = :id and t.completed = :expected")
+    int compareAndSetCompleted(@Param("id") Long id, @Param("expected") boolean expected,
+                               @Param("completed") boolean completed, @Param("completedAt") Instant completedAt);
 }
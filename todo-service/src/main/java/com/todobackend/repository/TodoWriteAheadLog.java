@@ -0,0 +1,445 @@
+package com.todobackend.repository;
+
+import com.todobackend.exception.TodoServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+/**
+ * Durable persistence for an {@link InMemoryTodoStore}: an append-only write-ahead log
+ * of put/remove/clear records plus periodic compacted snapshots.
+ *
+ * Each record is framed as {@code [length][crc32][payload]}. The log is split into
+ * numbered segments; a checkpoint starts a new segment, writes a snapshot that
+ * covers everything before it and deletes the older segments.
+ *
+ * Recovery loads the snapshot and replays the remaining segments, both through
+ * memory-mapped reads. A torn or corrupt record at the end of the last segment
+ * (a crash in the middle of a write) is truncated away.
+ *
+ * With {@code syncOnWrite} every change waits until it is on disk; concurrent writers
+ * share a single fsync. Otherwise the log is fsynced every {@code fsyncIntervalMs}.
+ *
+ * A failed append (e.g. a full disk) is cut back to the last complete record, so later
+ * records never end up behind a torn one. If even that fails, or an fsync fails, the log
+ * rejects all further changes rather than risk losing acknowledged ones on recovery:
+ * after a failed fsync the kernel may have dropped the dirty pages and a later fsync
+ * would still succeed. The change whose sync failed is not acknowledged to the caller,
+ * but it is already visible in the store and may or may not survive a restart.
+ */
+public class TodoWriteAheadLog implements InMemoryTodoStore.ChangeListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoWriteAheadLog.class);
+
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final byte CLEAR = 3;
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    private static final int MAX_RECORD_SIZE = 1 << 20;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final InMemoryTodoStore store;
+    private final Path directory;
+    private final InMemoryTodoSnapshotter snapshotter;
+    private final boolean syncOnWrite;
+    private final long fsyncIntervalMs;
+
+    private final ThreadLocal<long[]> lastAppended = ThreadLocal.withInitial(() -> new long[1]);
+    private final Object syncLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer recordBuffer = ByteBuffer.allocate(256);
+
+    private FileChannel channel;
+    private long segment;
+    private long validLength;
+    private volatile boolean failed;
+    private volatile long appended;
+    private volatile long synced;
+    private ScheduledExecutorService flusher;
+
+    public TodoWriteAheadLog(InMemoryTodoStore store, Path directory, boolean syncOnWrite, long fsyncIntervalMs) {
+        this.store = store;
+        this.directory = directory;
+        this.snapshotter = new InMemoryTodoSnapshotter(store, directory.resolve("todos.snapshot"));
+        this.syncOnWrite = syncOnWrite;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+    }
+
+    /**
+     * Rebuilds the store from the snapshot and log, then starts logging its changes.
+     *
+     * @throws TodoServiceException if the log cannot be read or opened
+     */
+    public synchronized void recover() {
+        try {
+            Files.createDirectories(directory);
+            long firstSegment = snapshotter.load();
+            List<Long> segments = listSegments();
+            long replayed = 0;
+            for (int i = 0; i < segments.size(); i++) {
+                long number = segments.get(i);
+                if (number >= firstSegment) {
+                    replayed += replay(segmentPath(number), i == segments.size() - 1);
+                }
+            }
+            logger.info("Replayed {} write-ahead log records from {}", replayed, directory);
+
+            segment = segments.isEmpty() ? Math.max(firstSegment, 1) : Math.max(firstSegment, segments.get(segments.size() - 1) + 1);
+            channel = openSegment(segment);
+            validLength = channel.size();
+            store.setChangeListener(this);
+            if (!syncOnWrite) {
+                flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "todo-wal-flusher");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+                flusher.scheduleWithFixedDelay(this::flushQuietly, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+            }
+        } catch (IOException e) {
+            logger.error("Error occurred while recovering todos from {}", directory, e);
+            throw new TodoServiceException("Failed to recover todos from " + directory, e);
+        }
+    }
+
+    @Override
+    public void onPut(long id, byte[] title, boolean completed, long completedAt, long version) {
+        int titleLength = title == null ? 0 : title.length;
+        synchronized (this) {
+            ByteBuffer payload = beginRecord(PUT, id, 1 + 2 * Long.BYTES + Integer.BYTES + titleLength);
+            payload.put(completed ? (byte) 1 : (byte) 0);
+            payload.putLong(completedAt);
+            payload.putLong(version);
+            payload.putInt(title == null ? -1 : title.length);
+            if (title != null) {
+                payload.put(title);
+            }
+            append(payload);
+        }
+    }
+
+    @Override
+    public void onRemove(long id) {
+        synchronized (this) {
+            append(beginRecord(REMOVE, id, 0));
+        }
+    }
+
+    @Override
+    public void onClear() {
+        synchronized (this) {
+            append(beginRecord(CLEAR, LongTodoTable.EMPTY, 0));
+        }
+    }
+
+    /**
+     * Waits until the calling thread's last change is on disk, when {@code syncOnWrite} is set.
+     */
+    @Override
+    public void afterChange() {
+        if (syncOnWrite) {
+            sync(lastAppended.get()[0]);
+        }
+    }
+
+    /**
+     * Starts a new log segment, writes a snapshot covering all older segments and deletes them.
+     *
+     * @throws TodoServiceException if the checkpoint fails; the existing log stays usable
+     */
+    @Scheduled(fixedDelayString = "${todo.inmemory.wal.checkpoint-interval-ms:300000}",
+            initialDelayString = "${todo.inmemory.wal.checkpoint-interval-ms:300000}")
+    public void checkpoint() {
+        long newSegment;
+        try {
+            synchronized (syncLock) {
+                synchronized (this) {
+                    newSegment = segment + 1;
+                    // Open the next segment first, so a failure leaves the current one in use
+                    FileChannel next = openSegment(newSegment);
+                    try {
+                        forceChannel();
+                    } catch (IOException e) {
+                        next.close();
+                        Files.deleteIfExists(segmentPath(newSegment));
+                        throw e;
+                    }
+                    FileChannel previous = channel;
+                    channel = next;
+                    segment = newSegment;
+                    validLength = 0;
+                    closeQuietly(previous);
+                }
+            }
+            snapshotter.write(newSegment);
+            for (long number : listSegments()) {
+                if (number < newSegment) {
+                    Files.deleteIfExists(segmentPath(number));
+                }
+            }
+            logger.info("Checkpointed todos, log continues in segment {}", newSegment);
+        } catch (IOException e) {
+            logger.error("Error occurred while checkpointing todos in {}", directory, e);
+            throw new TodoServiceException("Failed to checkpoint todos in " + directory, e);
+        }
+    }
+
+    /**
+     * Flushes, checkpoints and closes the log.
+     */
+    public void close() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        checkpoint();
+        closeWithoutCheckpoint();
+    }
+
+    /**
+     * Stops logging and closes the current segment as is, like a process that dies
+     * without shutting down cleanly. Used by tests to simulate a crash.
+     */
+    void closeWithoutCheckpoint() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        store.setChangeListener(null);
+        synchronized (this) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.warn("Error occurred while closing write-ahead log in {}", directory, e);
+            }
+        }
+    }
+
+    private ByteBuffer beginRecord(byte type, long id, int extra) {
+        int size = HEADER_SIZE + 1 + Long.BYTES + extra;
+        if (recordBuffer.capacity() < size) {
+            recordBuffer = ByteBuffer.allocate(Integer.highestOneBit(size) << 1);
+        }
+        recordBuffer.clear();
+        recordBuffer.position(HEADER_SIZE);
+        recordBuffer.put(type);
+        recordBuffer.putLong(id);
+        return recordBuffer;
+    }
+
+    private void append(ByteBuffer record) {
+        if (failed) {
+            throw new TodoServiceException("Write-ahead log in " + directory + " is unusable after a failed write");
+        }
+        int payloadLength = record.position() - HEADER_SIZE;
+        crc.reset();
+        crc.update(record.array(), HEADER_SIZE, payloadLength);
+        record.putInt(0, payloadLength);
+        record.putInt(Integer.BYTES, (int) crc.getValue());
+        record.flip();
+        try {
+            while (record.hasRemaining()) {
+                channel.write(record);
+            }
+        } catch (IOException e) {
+            logger.error("Error occurred while appending to write-ahead log in {}", directory, e);
+            discardPartialRecord();
+            throw new TodoServiceException("Failed to append to write-ahead log", e);
+        }
+        validLength += record.limit();
+        appended++;
+        lastAppended.get()[0] = appended;
+    }
+
+    /**
+     * Makes sure everything up to the given append count is on disk. Whoever gets the
+     * sync lock first fsyncs on behalf of all appends made so far. Appends can continue
+     * while the fsync runs; segments are only switched while holding the sync lock.
+     */
+    private void sync(long position) {
+        if (synced >= position) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (synced >= position) {
+                return;
+            }
+            long target = appended;
+            FileChannel current;
+            synchronized (this) {
+                current = channel;
+            }
+            if (failed) {
+                throw new TodoServiceException("Write-ahead log in " + directory + " is unusable after a failed write");
+            }
+            try {
+                current.force(false);
+            } catch (IOException e) {
+                failed = true;
+                logger.error("Error occurred while syncing write-ahead log in {}, rejecting further writes",
+                        directory, e);
+                throw new TodoServiceException("Failed to sync write-ahead log", e);
+            }
+            synced = target;
+        }
+    }
+
+    /**
+     * Cuts the current segment back to its last complete record after a failed append.
+     */
+    private void discardPartialRecord() {
+        try {
+            channel.truncate(validLength);
+        } catch (IOException e) {
+            failed = true;
+            logger.error("Could not discard partial record in write-ahead log in {}, rejecting further writes",
+                    directory, e);
+        }
+    }
+
+    private void closeQuietly(FileChannel previous) {
+        try {
+            previous.close();
+        } catch (IOException e) {
+            logger.warn("Error occurred while closing write-ahead log segment in {}", directory, e);
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            sync(appended);
+        } catch (TodoServiceException e) {
+            logger.error("Background sync of write-ahead log failed", e);
+        }
+    }
+
+    private void forceChannel() throws IOException {
+        long target = appended;
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            failed = true;
+            throw e;
+        }
+        synced = Math.max(synced, target);
+    }
+
+    /**
+     * Applies the records of one segment to the store.
+     *
+     * @return the number of records applied
+     */
+    private long replay(Path path, boolean lastSegment) throws IOException {
+        long records = 0;
+        long validLength;
+        try (FileChannel segmentChannel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = segmentChannel.map(FileChannel.MapMode.READ_ONLY, 0, segmentChannel.size());
+            CRC32 checksum = new CRC32();
+            while (true) {
+                int start = buffer.position();
+                if (buffer.remaining() < HEADER_SIZE) {
+                    break;
+                }
+                int length = buffer.getInt();
+                int expectedCrc = buffer.getInt();
+                if (length <= 0 || length > MAX_RECORD_SIZE || buffer.remaining() < length) {
+                    buffer.position(start);
+                    break;
+                }
+                ByteBuffer payload = buffer.slice();
+                payload.limit(length);
+                checksum.reset();
+                checksum.update(payload.duplicate());
+                if ((int) checksum.getValue() != expectedCrc) {
+                    buffer.position(start);
+                    break;
+                }
+                apply(payload);
+                buffer.position(start + HEADER_SIZE + length);
+                records++;
+            }
+            validLength = buffer.position();
+            if (validLength < segmentChannel.size()) {
+                if (!lastSegment) {
+                    throw new TodoServiceException("Corrupt record in write-ahead log segment " + path
+                            + " at offset " + validLength);
+                }
+                logger.warn("Truncating torn write at offset {} of write-ahead log segment {}", validLength, path);
+            }
+        }
+        if (lastSegment && validLength < Files.size(path)) {
+            try (FileChannel truncate = FileChannel.open(path, StandardOpenOption.WRITE)) {
+                truncate.truncate(validLength);
+                truncate.force(true);
+            }
+        }
+        return records;
+    }
+
+    private void apply(ByteBuffer payload) {
+        byte type = payload.get();
+        long id = payload.getLong();
+        switch (type) {
+            case PUT:
+                boolean completed = payload.get() != 0;
+                long completedAt = payload.getLong();
+                long version = payload.getLong();
+                int length = payload.getInt();
+                byte[] title = null;
+                if (length >= 0) {
+                    title = new byte[length];
+                    payload.get(title);
+                }
+                store.restore(id, title, completed, completedAt, version);
+                break;
+            case REMOVE:
+                store.remove(id);
+                break;
+            case CLEAR:
+                store.clear();
+                break;
+            default:
+                throw new TodoServiceException("Unknown write-ahead log record type " + type);
+        }
+    }
+
+    private FileChannel openSegment(long number) throws IOException {
+        return openChannel(segmentPath(number));
+    }
+
+    FileChannel openChannel(Path path) throws IOException {
+        return FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path segmentPath(long number) {
+        return directory.resolve(String.format("%s%016d%s", SEGMENT_PREFIX, number, SEGMENT_SUFFIX));
+    }
+
+    private List<Long> listSegments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                segments.add(Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())));
+            }
+        }
+        Collections.sort(segments);
+        return segments;
+    }
+}
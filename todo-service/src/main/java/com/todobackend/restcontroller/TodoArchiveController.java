@@ -0,0 +1,92 @@
+package com.todobackend.restcontroller;
+
+import com.todobackend.entity.ArchivedTodo;
+import com.todobackend.entity.Todo;
+import com.todobackend.service.TodoArchiveService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * REST controller for querying and restoring archived todo items.
+ * The {@code inmemory} profile has no archive, so there every endpoint returns 404
+ * instead of falling through to {@code /api/todos/{id}}.
+ */
+@RestController
+@RequestMapping("/api/todos/archive")
+@Validated
+public class TodoArchiveController {
+
+    private final Optional<TodoArchiveService> todoArchiveService;
+
+    @Autowired
+    public TodoArchiveController(Optional<TodoArchiveService> todoArchiveService) {
+        this.todoArchiveService = todoArchiveService;
+    }
+
+    /**
+     * Retrieves a page of archived todo items, most recently archived first.
+     *
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the archived todo items on that page
+     */
+    @Operation(summary = "Get archived todo items")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved archived todos"),
+            @ApiResponse(responseCode = "404", description = "Archiving is not available")
+    })
+    @GetMapping
+    public ResponseEntity<List<ArchivedTodo>> getArchivedTodos(
+            @Parameter(description = "Zero-based page number") @RequestParam(defaultValue = "0") @Min(0) int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "50") @Min(1) @Max(500) int size) {
+        return todoArchiveService
+                .map(service -> new ResponseEntity<>(service.getArchivedTodos(page, size), HttpStatus.OK))
+                .orElseGet(() -> new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Retrieves an archived todo item by the ID it had before it was archived.
+     *
+     * @param id the ID of the archived todo item
+     * @return the archived todo item
+     */
+    @Operation(summary = "Get an archived todo item by ID")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved archived todo"),
+            @ApiResponse(responseCode = "404", description = "Archived todo not found")
+    })
+    @GetMapping("/{id}")
+    public ResponseEntity<ArchivedTodo> getArchivedTodoById(@PathVariable Long id) {
+        ArchivedTodo archivedTodo = todoArchiveService.map(service -> service.getArchivedTodoById(id)).orElse(null);
+        return archivedTodo != null ? new ResponseEntity<>(archivedTodo, HttpStatus.OK) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Moves an archived todo item back into the active todos. It gets a new ID.
+     *
+     * @param id the ID of the archived todo item
+     * @return the restored todo item
+     */
+    @Operation(summary = "Restore an archived todo item")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Successfully restored todo"),
+            @ApiResponse(responseCode = "404", description = "Archived todo not found")
+    })
+    @PostMapping("/{id}/restore")
+    public ResponseEntity<Todo> restoreArchivedTodo(@PathVariable Long id) {
+        Todo restoredTodo = todoArchiveService.map(service -> service.restoreArchivedTodo(id)).orElse(null);
+        return restoredTodo != null ? new ResponseEntity<>(restoredTodo, HttpStatus.CREATED) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+}
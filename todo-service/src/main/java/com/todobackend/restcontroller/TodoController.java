@@ -51,14 +51,17 @@ public class TodoController {
      * Updates an existing todo item.
      *
      * @param id   the ID of the todo item to be updated
-     * @param todo the updated todo item details
+     * @param todo the updated todo item details; if it has a version, the update is
+     *             only applied when the stored todo is still at that version
      * @return the updated todo item
      */
     @Operation(summary = "Update an existing todo item")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully updated todo"),
             @ApiResponse(responseCode = "404", description = "Todo not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid input")
+            @ApiResponse(responseCode = "400", description = "Invalid input"),
+            @ApiResponse(responseCode = "409",
+                    description = "Todo was changed since the given version, or kept changing concurrently")
     })
     @PutMapping("/{id}")
     public ResponseEntity<Todo> updateTodo(
@@ -72,6 +75,30 @@ public class TodoController {
         }
     }
 
+    /**
+     * Marks a todo item as completed or not completed, but only if it is currently
+     * in the expected state.
+     *
+     * @param id        the ID of the todo item to be updated
+     * @param expected  the completed value the client last saw
+     * @param completed the new completed value
+     * @return the updated todo item
+     */
+    @Operation(summary = "Set the completed flag of a todo item if it has the expected value")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully updated todo"),
+            @ApiResponse(responseCode = "404", description = "Todo not found"),
+            @ApiResponse(responseCode = "409", description = "Todo is not in the expected state")
+    })
+    @PatchMapping("/{id}/completed")
+    public ResponseEntity<Todo> compareAndSetCompleted(
+            @Parameter(description = "ID of the todo item to be updated") @PathVariable Long id,
+            @Parameter(description = "Completed value the client last saw") @RequestParam boolean expected,
+            @Parameter(description = "New completed value") @RequestParam boolean completed) {
+        Todo updatedTodo = todoService.compareAndSetCompleted(id, expected, completed);
+        return updatedTodo != null ? new ResponseEntity<>(updatedTodo, HttpStatus.OK) : new ResponseEntity<>(HttpStatus.NOT_FOUND);
+    }
+
     /**
      * Deletes a todo item by its ID.
      *
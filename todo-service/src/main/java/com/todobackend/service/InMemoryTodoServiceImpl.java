@@ -0,0 +1,140 @@
+package com.todobackend.service;
+
+import com.todobackend.entity.Todo;
+import com.todobackend.repository.InMemoryTodoStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.validation.annotation.Validated;
+
+import javax.validation.Valid;
+import java.util.List;
+
+/**
+ * Implementation of the TodoService interface backed by an {@link InMemoryTodoStore}
+ * instead of a database. Active with the {@code inmemory} profile.
+ */
+@Service
+@Profile("inmemory")
+@Validated
+public class InMemoryTodoServiceImpl implements TodoService {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryTodoServiceImpl.class);
+
+    private final InMemoryTodoStore store;
+
+    @Autowired
+    public InMemoryTodoServiceImpl(InMemoryTodoStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Adds a new Todo to the store.
+     *
+     * @param todo the Todo to be added
+     * @return the stored Todo with an assigned ID
+     */
+    @Override
+    public Todo addTodo(@Valid Todo todo) {
+        logger.info("Adding a new todo: {}", todo.getTitle());
+        Todo savedTodo = store.insert(todo.getTitle(), todo.isCompleted());
+        logger.info("Todo added with ID: {}", savedTodo.getId());
+        return savedTodo;
+    }
+
+    /**
+     * Updates the title and completed flag of the Todo with the given ID.
+     *
+     * @param id   the ID of the Todo to be updated
+     * @param todo the updated Todo data, optionally with the version it is based on
+     * @return the updated Todo or null if the Todo is not found
+     * @throws com.todobackend.exception.TodoConflictException if the Todo no longer has the given version
+     */
+    @Override
+    public Todo updateTodo(Long id, @Valid Todo todo) {
+        logger.info("Updating todo with ID: {}", id);
+        Todo updatedTodo = store.update(id, todo.getTitle(), todo.isCompleted(), todo.getVersion());
+        if (updatedTodo != null) {
+            logger.info("Todo with ID: {} updated successfully", id);
+        } else {
+            logger.warn("Todo with ID: {} not found for update", id);
+        }
+        return updatedTodo;
+    }
+
+    /**
+     * Sets the completed flag of the Todo with the given ID, but only if it currently
+     * has the expected value.
+     *
+     * @param id        the ID of the Todo to be updated
+     * @param expected  the completed value the caller last saw
+     * @param completed the new completed value
+     * @return the updated Todo or null if the Todo is not found
+     * @throws com.todobackend.exception.TodoConflictException if the completed flag does not have the expected value
+     */
+    @Override
+    public Todo compareAndSetCompleted(Long id, boolean expected, boolean completed) {
+        logger.info("Setting completed of todo with ID: {} from {} to {}", id, expected, completed);
+        Todo updatedTodo = store.compareAndSetCompleted(id, expected, completed);
+        if (updatedTodo == null) {
+            logger.warn("Todo with ID: {} not found for compare-and-set", id);
+        }
+        return updatedTodo;
+    }
+
+    /**
+     * Deletes the Todo with the given ID. Deleting an unknown ID is a no-op.
+     *
+     * @param id the ID of the Todo to be deleted
+     */
+    @Override
+    public void deleteTodo(Long id) {
+        logger.info("Deleting todo with ID: {}", id);
+        if (store.remove(id)) {
+            logger.info("Todo with ID: {} deleted successfully", id);
+        } else {
+            logger.warn("Todo with ID: {} not found for delete", id);
+        }
+    }
+
+    /**
+     * Retrieves all Todos, ordered by ID.
+     *
+     * @return a list of all Todos
+     */
+    @Override
+    public List<Todo> getAllTodos() {
+        logger.info("Fetching all todos");
+        List<Todo> todos = store.findAll();
+        logger.info("Fetched {} todos", todos.size());
+        return todos;
+    }
+
+    /**
+     * Retrieves the Todo with the specified ID.
+     *
+     * @param id the ID of the Todo to be retrieved
+     * @return the Todo if found, or null if not found
+     */
+    @Override
+    public Todo getTodoById(Long id) {
+        logger.info("Fetching todo with ID: {}", id);
+        Todo todo = store.find(id);
+        if (todo == null) {
+            logger.warn("Todo with ID: {} not found", id);
+        }
+        return todo;
+    }
+
+    /**
+     * Deletes all Todos from the store.
+     */
+    @Override
+    public void deleteAllTodos() {
+        logger.info("Deleting all todos");
+        store.clear();
+        logger.info("All todos deleted successfully");
+    }
+}
@@ -0,0 +1,41 @@
+package com.todobackend.service;
+
+import com.todobackend.exception.TodoServiceException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the archival of old completed todos in the background.
+ * Disable with {@code todo.archive.enabled=false}.
+ */
+@Component
+@Lazy(false)
+@Profile("!inmemory")
+@ConditionalOnProperty(name = "todo.archive.enabled", havingValue = "true", matchIfMissing = true)
+public class TodoArchiveJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiveJob.class);
+
+    private final TodoArchiveService todoArchiveService;
+
+    @Autowired
+    public TodoArchiveJob(TodoArchiveService todoArchiveService) {
+        this.todoArchiveService = todoArchiveService;
+    }
+
+    @Scheduled(fixedDelayString = "${todo.archive.interval-ms:3600000}",
+            initialDelayString = "${todo.archive.interval-ms:3600000}")
+    public void archiveCompletedTodos() {
+        try {
+            todoArchiveService.archiveCompletedTodos();
+        } catch (TodoServiceException e) {
+            logger.warn("Scheduled archival of completed todos failed, will retry on the next run", e);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.todobackend.service;
+
+import com.todobackend.entity.ArchivedTodo;
+import com.todobackend.entity.Todo;
+
+import java.util.List;
+
+public interface TodoArchiveService {
+    int archiveCompletedTodos();
+    List<ArchivedTodo> getArchivedTodos(int page, int size);
+    ArchivedTodo getArchivedTodoById(Long id);
+    Todo restoreArchivedTodo(Long id);
+}
@@ -0,0 +1,193 @@
+package com.todobackend.service;
+
+import com.todobackend.entity.ArchivedTodo;
+import com.todobackend.entity.Todo;
+import com.todobackend.exception.TodoServiceException;
+import com.todobackend.repository.ArchivedTodoRepository;
+import com.todobackend.repository.TodoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Moves completed todos older than {@code todo.archive.min-age} from the todo table
+ * into the archived_todo table, and reads or restores archived todos.
+ *
+ * Archival runs in chunks of {@code todo.archive.chunk-size} rows, each in its own short
+ * transaction, with a pause between chunks so that regular requests are not starved of locks.
+ * Restored todos get a new ID and count as completed at the time of the restore.
+ */
+@Service
+@Profile("!inmemory")
+public class TodoArchiveServiceImpl implements TodoArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TodoArchiveServiceImpl.class);
+
+    private final TodoRepository todoRepository;
+    private final ArchivedTodoRepository archivedTodoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration minAge;
+    private final int chunkSize;
+    private final int maxChunksPerRun;
+    private final long pauseMs;
+
+    @Autowired
+    public TodoArchiveServiceImpl(TodoRepository todoRepository,
+                                  ArchivedTodoRepository archivedTodoRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  @Value("${todo.archive.min-age:30d}") Duration minAge,
+                                  @Value("${todo.archive.chunk-size:100}") int chunkSize,
+                                  @Value("${todo.archive.max-chunks-per-run:100}") int maxChunksPerRun,
+                                  @Value("${todo.archive.pause-ms:50}") long pauseMs) {
+        this.todoRepository = todoRepository;
+        this.archivedTodoRepository = archivedTodoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.minAge = minAge;
+        this.chunkSize = chunkSize;
+        this.maxChunksPerRun = maxChunksPerRun;
+        this.pauseMs = pauseMs;
+    }
+
+    /**
+     * Archives completed todos older than the configured minimum age, chunk by chunk.
+     *
+     * @return the number of todos archived
+     * @throws TodoServiceException if an error occurs while archiving
+     */
+    @Override
+    public int archiveCompletedTodos() {
+        Instant cutoff = Instant.now().minus(minAge);
+        int archived = 0;
+        try {
+            for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+                Integer moved = transactionTemplate.execute(status -> archiveChunk(cutoff));
+                if (moved == null || moved == 0) {
+                    break;
+                }
+                archived += moved;
+                if (moved < chunkSize) {
+                    break;
+                }
+                pause();
+            }
+            logger.info("Archived {} todos completed before {}", archived, cutoff);
+            return archived;
+        } catch (DataAccessException e) {
+            logger.error("Error occurred while archiving todos after {} archived", archived, e);
+            throw new TodoServiceException("Failed to archive todos", e);
+        }
+    }
+
+    /**
+     * Retrieves a page of archived todos, most recently archived first.
+     *
+     * @param page the zero-based page number
+     * @param size the page size
+     * @return the archived todos on that page
+     * @throws TodoServiceException if an error occurs while fetching archived todos
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<ArchivedTodo> getArchivedTodos(int page, int size) {
+        try {
+            logger.info("Fetching archived todos, page {} of size {}", page, size);
+            return archivedTodoRepository.findAll(
+                    PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "archivedAt", "id"))).getContent();
+        } catch (DataAccessException e) {
+            logger.error("Error occurred while fetching archived todos", e);
+            throw new TodoServiceException("Failed to fetch archived todos", e);
+        }
+    }
+
+    /**
+     * Retrieves the archived todo with the specified ID.
+     *
+     * @param id the ID the todo had before it was archived
+     * @return the archived todo, or null if not found
+     * @throws TodoServiceException if an error occurs while fetching the archived todo
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public ArchivedTodo getArchivedTodoById(Long id) {
+        try {
+            logger.info("Fetching archived todo with ID: {}", id);
+            return archivedTodoRepository.findById(id).orElseGet(() -> {
+                logger.warn("Archived todo with ID: {} not found", id);
+                return null;
+            });
+        } catch (DataAccessException e) {
+            logger.error("Error occurred while fetching archived todo with ID: {}", id, e);
+            throw new TodoServiceException("Failed to fetch archived todo with ID: " + id, e);
+        }
+    }
+
+    /**
+     * Moves an archived todo back into the todo table.
+     *
+     * @param id the ID the todo had before it was archived
+     * @return the restored todo with its new ID, or null if the archived todo is not found
+     * @throws TodoServiceException if an error occurs while restoring the todo
+     */
+    @Override
+    @Transactional
+    public Todo restoreArchivedTodo(Long id) {
+        try {
+            logger.info("Restoring archived todo with ID: {}", id);
+            ArchivedTodo archivedTodo = archivedTodoRepository.findById(id).orElse(null);
+            if (archivedTodo == null) {
+                logger.warn("Archived todo with ID: {} not found for restore", id);
+                return null;
+            }
+            Todo todo = new Todo();
+            todo.setTitle(archivedTodo.getTitle());
+            todo.setCompleted(archivedTodo.isCompleted());
+            Todo restoredTodo = todoRepository.save(todo);
+            archivedTodoRepository.delete(archivedTodo);
+            logger.info("Archived todo with ID: {} restored with ID: {}", id, restoredTodo.getId());
+            return restoredTodo;
+        } catch (DataAccessException e) {
+            logger.error("Error occurred while restoring archived todo with ID: {}", id, e);
+            throw new TodoServiceException("Failed to restore archived todo with ID: " + id, e);
+        }
+    }
+
+    private int archiveChunk(Instant cutoff) {
+        List<Todo> todos = todoRepository.findByCompletedTrueAndCompletedAtBefore(
+                cutoff, PageRequest.of(0, chunkSize, Sort.by("id")));
+        if (todos.isEmpty()) {
+            return 0;
+        }
+        Instant archivedAt = Instant.now();
+        archivedTodoRepository.saveAll(todos.stream()
+                .map(todo -> ArchivedTodo.from(todo, archivedAt))
+                .collect(Collectors.toList()));
+        todoRepository.deleteAllByIdInBatch(todos.stream().map(Todo::getId).collect(Collectors.toList()));
+        return todos.size();
+    }
+
+    private void pause() {
+        if (pauseMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(pauseMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TodoServiceException("Interrupted while archiving todos", e);
+        }
+    }
+}
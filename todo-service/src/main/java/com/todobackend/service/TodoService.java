@@ -8,6 +8,7 @@ import java.util.List;
 public interface TodoService {
     Todo addTodo(@Valid Todo todo);
     Todo updateTodo(Long id, @Valid Todo todo);
+    Todo compareAndSetCompleted(Long id, boolean expected, boolean completed);
     void deleteTodo(Long id);
     List<Todo> getAllTodos();
     Todo getTodoById(Long id);
@@ -1,37 +1,67 @@
 package com.todobackend.service;
 
 import com.todobackend.entity.Todo;
+import com.todobackend.exception.TodoConflictException;
 import com.todobackend.exception.TodoServiceException;
 import com.todobackend.repository.TodoRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.annotation.Validated;
 
 import javax.validation.Valid;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Implementation of the TodoService interface.
  * This class provides CRUD operations for Todo entities.
  * It interacts with the TodoRepository to perform database operations.
+ * Active unless the {@code inmemory} profile is selected.
  *
  * Logging and custom exception handling are added to track errors and issues.
+ *
+ * Todos carry a version. An update that sends the version the client last read only
+ * succeeds if the Todo has not changed since, and fails with a conflict otherwise.
+ * An update without a version is applied on top of whatever is stored: if it collides
+ * with a concurrent update it is retried in a fresh transaction, up to
+ * {@code todo.update.max-attempts} times, after a random (jittered) backoff.
  */
 @Service
+@Profile("!inmemory")
 @Validated
 public class TodoServiceImpl implements TodoService {
 
     private static final Logger logger = LoggerFactory.getLogger(TodoServiceImpl.class);
 
     private final TodoRepository todoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxUpdateAttempts;
+    private final long updateBackoffMs;
+    private final long maxUpdateBackoffMs;
 
     @Autowired
-    public TodoServiceImpl(TodoRepository todoRepository) {
+    public TodoServiceImpl(TodoRepository todoRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${todo.update.max-attempts:5}") int maxUpdateAttempts,
+                           @Value("${todo.update.backoff-ms:5}") long updateBackoffMs,
+                           @Value("${todo.update.max-backoff-ms:100}") long maxUpdateBackoffMs) {
         this.todoRepository = todoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxUpdateAttempts = maxUpdateAttempts;
+        this.updateBackoffMs = updateBackoffMs;
+        this.maxUpdateBackoffMs = maxUpdateBackoffMs;
     }
 
     /**
@@ -45,6 +75,8 @@ public class TodoServiceImpl implements TodoService {
     public Todo addTodo(@Valid Todo todo) {
         try {
             logger.info("Adding a new todo: {}", todo.getTitle());
+            // A new Todo always starts at the first version, whatever the client sent
+            todo.setVersion(null);
             Todo savedTodo = todoRepository.save(todo);
             logger.info("Todo added with ID: {}", savedTodo.getId());
             return savedTodo;
@@ -58,25 +90,35 @@ public class TodoServiceImpl implements TodoService {
      * Updates an existing Todo entity with the given ID.
      *
      * @param id   the ID of the Todo to be updated
-     * @param todo the updated Todo data
+     * @param todo the updated Todo data, optionally with the version it is based on
      * @return the updated Todo entity or null if the Todo is not found
-     * @throws TodoServiceException if an error occurs while updating the Todo
+     * @throws TodoConflictException if the Todo no longer has the given version,
+     *                               or it keeps conflicting with concurrent updates
+     * @throws TodoServiceException  if an error occurs while updating the Todo
      */
     @Override
     public Todo updateTodo(Long id, @Valid Todo todo) {
         try {
             logger.info("Updating todo with ID: {}", id);
-            Optional<Todo> existingTodo = todoRepository.findById(id);
-            if (existingTodo.isPresent()) {
-                Todo updatedTodo = existingTodo.get();
-                updatedTodo.setTitle(todo.getTitle());
-                updatedTodo.setCompleted(todo.isCompleted());
-                Todo savedTodo = todoRepository.save(updatedTodo);
-                logger.info("Todo with ID: {} updated successfully", savedTodo.getId());
-                return savedTodo;
-            } else {
-                logger.warn("Todo with ID: {} not found for update", id);
-                return null;
+            if (todo.getVersion() != null) {
+                try {
+                    return transactionTemplate.execute(status -> applyUpdate(id, todo));
+                } catch (OptimisticLockingFailureException e) {
+                    throw versionConflict(id, todo.getVersion(), e);
+                }
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return transactionTemplate.execute(status -> applyUpdate(id, todo));
+                } catch (OptimisticLockingFailureException e) {
+                    if (attempt >= maxUpdateAttempts) {
+                        logger.error("Todo with ID: {} still conflicting after {} attempts", id, attempt, e);
+                        throw new TodoConflictException("Failed to update todo with ID: " + id
+                                + " due to concurrent updates", e);
+                    }
+                    logger.debug("Concurrent update of todo with ID: {}, retrying (attempt {})", id, attempt);
+                    backOff(attempt);
+                }
             }
         } catch (DataAccessException e) {
             logger.error("Error occurred while updating todo with ID: {}", id, e);
@@ -84,9 +126,49 @@ public class TodoServiceImpl implements TodoService {
         }
     }
 
+    /**
+     * Sets the completed flag of the Todo with the given ID, but only if it currently
+     * has the expected value. Done as a single conditional update, so it needs no retries.
+     *
+     * @param id        the ID of the Todo to be updated
+     * @param expected  the completed value the caller last saw
+     * @param completed the new completed value
+     * @return the updated Todo entity or null if the Todo is not found
+     * @throws TodoConflictException if the completed flag does not have the expected value
+     * @throws TodoServiceException  if an error occurs while updating the Todo
+     */
+    @Override
+    @Transactional
+    public Todo compareAndSetCompleted(Long id, boolean expected, boolean completed) {
+        try {
+            logger.info("Setting completed of todo with ID: {} from {} to {}", id, expected, completed);
+            boolean change = expected != completed;
+            if (change) {
+                Instant completedAt = completed ? Todo.now() : null;
+                if (todoRepository.compareAndSetCompleted(id, expected, completed, completedAt) == 1) {
+                    return todoRepository.findById(id).orElse(null);
+                }
+            }
+            Optional<Todo> currentTodo = todoRepository.findById(id);
+            if (!currentTodo.isPresent()) {
+                logger.warn("Todo with ID: {} not found for compare-and-set", id);
+                return null;
+            }
+            // A missed conditional update is a conflict, even if the flag has flipped back since
+            if (change || currentTodo.get().isCompleted() != expected) {
+                logger.info("Compare-and-set of todo with ID: {} failed, completed was not {}", id, expected);
+                throw new TodoConflictException("Todo with ID: " + id + " is not completed=" + expected);
+            }
+            return currentTodo.get();
+        } catch (DataAccessException e) {
+            logger.error("Error occurred while updating completed of todo with ID: {}", id, e);
+            throw new TodoServiceException("Failed to update todo with ID: " + id, e);
+        }
+    }
+
 
     /**
-     * Deletes the Todo entity with the given ID from the database.
+     * Deletes the Todo entity with the given ID from the database. Deleting an unknown ID is a no-op.
      *
      * @param id the ID of the Todo to be deleted
      * @throws TodoServiceException if an error occurs while deleting the Todo
@@ -97,6 +179,8 @@ public class TodoServiceImpl implements TodoService {
             logger.info("Deleting todo with ID: {}", id);
             todoRepository.deleteById(id);
             logger.info("Todo with ID: {} deleted successfully", id);
+        } catch (EmptyResultDataAccessException e) {
+            logger.warn("Todo with ID: {} not found for delete", id);
         } catch (DataAccessException e) {
             logger.error("Error occurred while deleting todo with ID: {}", id, e);
             throw new TodoServiceException("Failed to delete todo with ID: " + id, e);
@@ -110,6 +194,7 @@ public class TodoServiceImpl implements TodoService {
      * @throws TodoServiceException if an error occurs while fetching all Todos
      */
     @Override
+    @Transactional(readOnly = true)
     public List<Todo> getAllTodos() {
         try {
             logger.info("Fetching all todos");
@@ -130,6 +215,7 @@ public class TodoServiceImpl implements TodoService {
      * @throws TodoServiceException if an error occurs while fetching the Todo
      */
     @Override
+    @Transactional(readOnly = true)
     public Todo getTodoById(Long id) {
         try {
             logger.info("Fetching todo with ID: {}", id);
@@ -159,4 +245,44 @@ public class TodoServiceImpl implements TodoService {
             throw new TodoServiceException("Failed to delete all todos", e);
         }
     }
+
+    private Todo applyUpdate(Long id, Todo todo) {
+        Optional<Todo> existingTodo = todoRepository.findById(id);
+        if (existingTodo.isPresent()) {
+            Todo updatedTodo = existingTodo.get();
+            if (todo.getVersion() != null && !todo.getVersion().equals(updatedTodo.getVersion())) {
+                throw versionConflict(id, todo.getVersion(), null);
+            }
+            updatedTodo.setTitle(todo.getTitle());
+            updatedTodo.setCompleted(todo.isCompleted());
+            Todo savedTodo = todoRepository.save(updatedTodo);
+            logger.info("Todo with ID: {} updated successfully", savedTodo.getId());
+            return savedTodo;
+        } else {
+            logger.warn("Todo with ID: {} not found for update", id);
+            return null;
+        }
+    }
+
+    private static TodoConflictException versionConflict(Long id, Long version, Throwable cause) {
+        logger.info("Update of todo with ID: {} failed, it is no longer at version {}", id, version);
+        return new TodoConflictException("Todo with ID: " + id + " is no longer at version " + version, cause);
+    }
+
+    /**
+     * Sleeps for a random time up to an exponentially growing bound, so that
+     * competing writers do not retry in lockstep.
+     */
+    private void backOff(int attempt) {
+        long bound = Math.min(maxUpdateBackoffMs, updateBackoffMs << Math.min(attempt - 1, 20));
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TodoServiceException("Interrupted while updating todo", e);
+        }
+    }
 }
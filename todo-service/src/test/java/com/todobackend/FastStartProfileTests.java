@@ -0,0 +1,24 @@
+package com.todobackend;
+
+import org.junit.jupiter.api.Test;
+import org.springdoc.core.SpringDocConfiguration;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("faststart")
+class FastStartProfileTests {
+
+	@Autowired
+	private ApplicationContext context;
+
+	@Test
+	void contextLoadsWithoutSpringdoc() {
+		assertEquals(0, context.getBeanNamesForType(SpringDocConfiguration.class).length);
+	}
+
+}
@@ -0,0 +1,131 @@
+package com.todobackend.benchmark;
+
+import com.todobackend.entity.Todo;
+import com.todobackend.exception.TodoConflictException;
+import com.todobackend.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Many threads updating a small set of hot todos through the JPA-backed service,
+ * with optimistic locking and retries.
+ * Conflicts are requests rejected because another thread got there first; errors are
+ * any other failure, counted so that a failing request never stops its thread.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=TodoContentionBenchmarkTest}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TodoContentionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int HOT_TODOS = 4;
+    private static final long DURATION_MS = 5_000;
+
+    @Autowired
+    private TodoService todoService;
+
+    @Test
+    void updatesOnHotTodos() throws InterruptedException {
+        List<Long> ids = createHotTodos();
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long elapsed = runThreads(() -> {
+            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            Todo todo = new Todo();
+            todo.setTitle("Hot " + Thread.currentThread().getName());
+            todo.setCompleted(ThreadLocalRandom.current().nextBoolean());
+            try {
+                todoService.updateTodo(id, todo);
+                succeeded.incrementAndGet();
+            } catch (TodoConflictException e) {
+                conflicts.incrementAndGet();
+            }
+        }, errors);
+        report("updateTodo", succeeded.get(), conflicts.get(), errors.get(), elapsed);
+    }
+
+    @Test
+    void compareAndSetToggles() throws InterruptedException {
+        List<Long> ids = createHotTodos();
+
+        AtomicLong succeeded = new AtomicLong();
+        AtomicLong conflicts = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        // Each thread toggles from the state it last saw, so a conflict means another thread changed it since
+        ThreadLocal<Map<Long, Boolean>> lastSeen = ThreadLocal.withInitial(HashMap::new);
+        long elapsed = runThreads(() -> {
+            Long id = ids.get(ThreadLocalRandom.current().nextInt(ids.size()));
+            boolean expected = lastSeen.get().getOrDefault(id, false);
+            try {
+                todoService.compareAndSetCompleted(id, expected, !expected);
+                lastSeen.get().put(id, !expected);
+                succeeded.incrementAndGet();
+            } catch (TodoConflictException e) {
+                lastSeen.get().put(id, !expected);
+                conflicts.incrementAndGet();
+            }
+        }, errors);
+        report("compareAndSetCompleted", succeeded.get(), conflicts.get(), errors.get(), elapsed);
+    }
+
+    private List<Long> createHotTodos() {
+        todoService.deleteAllTodos();
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < HOT_TODOS; i++) {
+            Todo todo = new Todo();
+            todo.setTitle("Hot " + i);
+            ids.add(todoService.addTodo(todo).getId());
+        }
+        return ids;
+    }
+
+    private static long runThreads(Runnable operation, AtomicLong errors) throws InterruptedException {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        long[] deadline = new long[1];
+        for (int t = 0; t < THREADS; t++) {
+            executor.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                while (System.nanoTime() < deadline[0]) {
+                    try {
+                        operation.run();
+                    } catch (RuntimeException e) {
+                        errors.incrementAndGet();
+                    }
+                }
+            });
+        }
+        long begin = System.nanoTime();
+        deadline[0] = begin + TimeUnit.MILLISECONDS.toNanos(DURATION_MS);
+        start.countDown();
+        executor.shutdown();
+        executor.awaitTermination(DURATION_MS * 10, TimeUnit.MILLISECONDS);
+        return System.nanoTime() - begin;
+    }
+
+    private static void report(String name, long succeeded, long conflicts, long errors, long elapsedNanos) {
+        double seconds = elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1);
+        System.out.printf("%-24s threads=%d hotTodos=%d  %10.1f ops/s  succeeded=%d conflicts=%d errors=%d%n",
+                name, THREADS, HOT_TODOS, succeeded / seconds, succeeded, conflicts, errors);
+    }
+}
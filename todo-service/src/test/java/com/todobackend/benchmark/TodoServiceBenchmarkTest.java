@@ -0,0 +1,78 @@
+package com.todobackend.benchmark;
+
+import com.todobackend.entity.Todo;
+import com.todobackend.repository.InMemoryTodoStore;
+import com.todobackend.service.InMemoryTodoServiceImpl;
+import com.todobackend.service.TodoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the JPA-backed service with the in-memory engine.
+ * Run with {@code mvn test -Dbenchmark=true -Dtest=TodoServiceBenchmarkTest}.
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TodoServiceBenchmarkTest {
+
+    private static final int WARMUP_OPERATIONS = 5_000;
+    private static final int MEASURED_OPERATIONS = 20_000;
+
+    @Autowired
+    private TodoService jpaTodoService;
+
+    @Test
+    void compareJpaAndInMemory() {
+        TodoService inMemoryTodoService = new InMemoryTodoServiceImpl(new InMemoryTodoStore(16));
+
+        run("jpa", jpaTodoService, WARMUP_OPERATIONS);
+        run("in-memory", inMemoryTodoService, WARMUP_OPERATIONS);
+
+        report("jpa", jpaTodoService);
+        report("in-memory", inMemoryTodoService);
+    }
+
+    private static void report(String name, TodoService todoService) {
+        long[] nanos = run(name, todoService, MEASURED_OPERATIONS);
+        System.out.printf("%-10s add %8.2f us/op   get %8.2f us/op   update %8.2f us/op%n", name,
+                perOperation(nanos[0]), perOperation(nanos[1]), perOperation(nanos[2]));
+    }
+
+    private static long[] run(String name, TodoService todoService, int operations) {
+        todoService.deleteAllTodos();
+        Long[] ids = new Long[operations];
+        Todo todo = new Todo();
+        todo.setTitle("Benchmark " + name);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            ids[i] = todoService.addTodo(todo).getId();
+            todo.setId(null);
+        }
+        long added = System.nanoTime();
+        for (int i = 0; i < operations; i++) {
+            todoService.getTodoById(ids[i]);
+        }
+        long fetched = System.nanoTime();
+        todo.setCompleted(true);
+        for (int i = 0; i < operations; i++) {
+            todoService.updateTodo(ids[i], todo);
+        }
+        long updated = System.nanoTime();
+        todoService.deleteAllTodos();
+
+        return new long[]{
+                (added - start) / operations,
+                (fetched - added) / operations,
+                (updated - fetched) / operations
+        };
+    }
+
+    private static double perOperation(long nanos) {
+        return nanos / (double) TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.todobackend.configuration;
+
+import com.todobackend.entity.Todo;
+import com.todobackend.service.TodoService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs against two separate H2 databases. Nothing replicates between them, so a read
+ * that sees a freshly added todo must have been routed to the primary.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary",
+        "todo.datasource.replica.url=jdbc:h2:mem:replica;INIT=CREATE TABLE IF NOT EXISTS todo"
+                + " (id BIGINT AUTO_INCREMENT PRIMARY KEY, title VARCHAR(255), completed BOOLEAN NOT NULL,"
+                + " completed_at TIMESTAMP, version BIGINT)",
+        "todo.datasource.replica.max-lag-ms=60000",
+        "todo.datasource.replica.hikari.maximum-pool-size=2"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private TodoService todoService;
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+        todoService.deleteAllTodos();
+    }
+
+    @Test
+    void readsWithoutToken_shouldGoToReplica() {
+        Long id = todoService.addTodo(newTodo()).getId();
+
+        assertTrue(todoService.getAllTodos().isEmpty());
+        assertNull(todoService.getTodoById(id));
+    }
+
+    @Test
+    void readsWithRecentToken_shouldGoToPrimary() {
+        Long id = todoService.addTodo(newTodo()).getId();
+        bindRequest(Long.toString(System.currentTimeMillis()));
+
+        assertEquals(1, todoService.getAllTodos().size());
+        assertNotNull(todoService.getTodoById(id));
+    }
+
+    @Test
+    void readsWithExpiredToken_shouldGoToReplica() {
+        todoService.addTodo(newTodo());
+        bindRequest(Long.toString(System.currentTimeMillis() - 120_000));
+
+        assertTrue(todoService.getAllTodos().isEmpty());
+    }
+
+    @Test
+    void write_shouldReturnToken() {
+        MockHttpServletResponse response = bindRequest(null);
+
+        todoService.addTodo(newTodo());
+
+        assertNotNull(response.getHeader(ReadYourWritesTracker.HEADER));
+    }
+
+    @Test
+    void updateAfterWrite_shouldSeeTodoOnPrimary() {
+        Long id = todoService.addTodo(newTodo()).getId();
+        Todo update = newTodo();
+        update.setCompleted(true);
+
+        Todo result = todoService.updateTodo(id, update);
+
+        assertNotNull(result);
+        assertTrue(result.isCompleted());
+    }
+
+    private static MockHttpServletResponse bindRequest(String lastWrite) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        if (lastWrite != null) {
+            request.addHeader(ReadYourWritesTracker.HEADER, lastWrite);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request, response));
+        return response;
+    }
+
+    private static Todo newTodo() {
+        Todo todo = new Todo();
+        todo.setTitle("Replicated Todo");
+        return todo;
+    }
+}
@@ -41,6 +41,17 @@ class TodoTest {
         assertFalse(todo.isCompleted(), "Default value of completed should be false");
     }
 
+    @Test
+    void testCompletedAtFollowsCompleted() {
+        todo.setCompleted(true);
+        todo.updateCompletedAt();
+        assertNotNull(todo.getCompletedAt());
+
+        todo.setCompleted(false);
+        todo.updateCompletedAt();
+        assertNull(todo.getCompletedAt());
+    }
+
     @Test
     void testAllArgsConstructor() {
         todo.setId(2L);
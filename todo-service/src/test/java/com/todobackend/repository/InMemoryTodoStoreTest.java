@@ -0,0 +1,133 @@
+package com.todobackend.repository;
+
+import com.todobackend.entity.Todo;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryTodoStoreTest {
+
+    @Test
+    void randomInsertsAndRemoves_shouldMatchHashMap() {
+        InMemoryTodoStore store = new InMemoryTodoStore(2);
+        Map<Long, Todo> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; i++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                Todo todo = store.insert("todo " + i, random.nextBoolean());
+                expected.put(todo.getId(), todo);
+            } else {
+                long id = 1 + random.nextInt((int) store.lastId());
+                assertEquals(expected.remove(id) != null, store.remove(id));
+            }
+        }
+
+        assertEquals(expected.size(), store.size());
+        for (Todo todo : expected.values()) {
+            Todo found = store.find(todo.getId());
+            assertNotNull(found);
+            assertEquals(todo.getTitle(), found.getTitle());
+            assertEquals(todo.isCompleted(), found.isCompleted());
+            assertEquals(todo.getCompletedAt(), found.getCompletedAt());
+            assertEquals(todo.getVersion(), found.getVersion());
+        }
+    }
+
+    @Test
+    void findAll_shouldReturnTodosOrderedById() {
+        InMemoryTodoStore store = new InMemoryTodoStore(8);
+        for (int i = 0; i < 100; i++) {
+            store.insert("todo " + i, false);
+        }
+
+        List<Todo> todos = store.findAll();
+
+        assertEquals(100, todos.size());
+        for (int i = 0; i < todos.size(); i++) {
+            assertEquals(i + 1L, todos.get(i).getId());
+        }
+    }
+
+    @Test
+    void update_shouldTrackCompletedAt() {
+        InMemoryTodoStore store = new InMemoryTodoStore(1);
+        long id = store.insert("todo", false).getId();
+        assertNull(store.find(id).getCompletedAt());
+
+        Instant completedAt = store.update(id, "todo", true).getCompletedAt();
+        assertNotNull(completedAt);
+        assertEquals(completedAt, store.update(id, "renamed", true).getCompletedAt());
+        assertEquals(completedAt, store.find(id).getCompletedAt());
+
+        assertNull(store.update(id, "renamed", false).getCompletedAt());
+        assertNull(store.find(id).getCompletedAt());
+        assertNotNull(store.compareAndSetCompleted(id, false, true).getCompletedAt());
+    }
+
+    @Test
+    void nullTitle_shouldRoundTrip() {
+        InMemoryTodoStore store = new InMemoryTodoStore(1);
+
+        Todo todo = store.insert(null, true);
+
+        assertNull(store.find(todo.getId()).getTitle());
+        assertTrue(store.find(todo.getId()).isCompleted());
+    }
+
+    @Test
+    void concurrentInserts_shouldAssignUniqueIds() throws Exception {
+        InMemoryTodoStore store = new InMemoryTodoStore(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 5_000; i++) {
+                    store.insert("todo", false);
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(40_000, store.size());
+        assertEquals(40_000, store.lastId());
+    }
+
+    @Test
+    void snapshot_shouldRestoreStoreContents(@TempDir Path dir) {
+        Path path = dir.resolve("todos.snapshot");
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        store.insert("first", false);
+        Todo second = store.insert("second", true);
+        store.insert(null, false);
+        store.remove(1L);
+        new InMemoryTodoSnapshotter(store, path).write();
+
+        InMemoryTodoStore restored = new InMemoryTodoStore(4);
+        new InMemoryTodoSnapshotter(restored, path).load();
+
+        assertEquals(2, restored.size());
+        assertEquals("second", restored.find(second.getId()).getTitle());
+        assertTrue(restored.find(second.getId()).isCompleted());
+        assertEquals(second.getCompletedAt(), restored.find(second.getId()).getCompletedAt());
+        assertEquals(second.getVersion(), restored.find(second.getId()).getVersion());
+        assertEquals(4L, restored.insert("next", false).getId());
+    }
+}
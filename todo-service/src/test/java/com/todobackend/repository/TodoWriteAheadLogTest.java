@@ -0,0 +1,401 @@
+package com.todobackend.repository;
+
+import com.todobackend.exception.TodoServiceException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoWriteAheadLogTest {
+
+    @TempDir
+    Path directory;
+
+    private final List<TodoWriteAheadLog> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(TodoWriteAheadLog::closeWithoutCheckpoint);
+    }
+
+    @Test
+    void recover_shouldReplayLoggedChanges() {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        long first = store.insert("first", false).getId();
+        long second = store.insert("second", false).getId();
+        Instant completedAt = store.update(first, "first updated", true).getCompletedAt();
+        store.remove(second);
+        crash(wal);
+
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        open(recovered);
+
+        assertEquals(1, recovered.size());
+        assertEquals("first updated", recovered.find(first).getTitle());
+        assertTrue(recovered.find(first).isCompleted());
+        assertEquals(completedAt, recovered.find(first).getCompletedAt());
+        assertEquals(1L, recovered.find(first).getVersion());
+        assertEquals(3L, recovered.insert("third", false).getId());
+    }
+
+    @Test
+    void recover_shouldReplayClear() {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        store.insert("first", false);
+        store.clear();
+        long second = store.insert("second", false).getId();
+        crash(wal);
+
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        open(recovered);
+
+        assertEquals(1, recovered.size());
+        assertEquals("second", recovered.find(second).getTitle());
+    }
+
+    @Test
+    void recover_shouldDropTornWriteAtEndOfLog() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        long first = store.insert("first", false).getId();
+        crash(wal);
+        Path segment = lastSegment();
+        long validLength = Files.size(segment);
+        // Length and CRC of a record whose payload never made it to disk
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 1, 0}, StandardOpenOption.APPEND);
+
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        TodoWriteAheadLog recoveredWal = open(recovered);
+
+        assertEquals(1, recovered.size());
+        assertEquals("first", recovered.find(first).getTitle());
+        assertEquals(validLength, Files.size(segment));
+
+        long second = recovered.insert("second", false).getId();
+        crash(recoveredWal);
+        InMemoryTodoStore again = new InMemoryTodoStore(4);
+        open(again);
+        assertEquals(2, again.size());
+        assertEquals("second", again.find(second).getTitle());
+    }
+
+    @Test
+    void recover_shouldDropRecordWithBadChecksum() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        store.insert("first", false);
+        store.insert("second", false);
+        crash(wal);
+        Path segment = lastSegment();
+        byte[] bytes = Files.readAllBytes(segment);
+        bytes[bytes.length - 1] ^= 0x7f;
+        Files.write(segment, bytes);
+
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        open(recovered);
+
+        assertEquals(1, recovered.size());
+        assertNull(recovered.find(2L));
+    }
+
+    @Test
+    void checkpoint_shouldCompactLogIntoSnapshot() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        for (int i = 0; i < 100; i++) {
+            store.insert("todo " + i, false);
+        }
+        for (long id = 1; id <= 50; id++) {
+            store.remove(id);
+        }
+        wal.checkpoint();
+        store.insert("after checkpoint", true);
+        crash(wal);
+
+        assertEquals(1, countSegments());
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        open(recovered);
+
+        assertEquals(51, recovered.size());
+        assertNull(recovered.find(50L));
+        assertEquals("after checkpoint", recovered.find(101L).getTitle());
+    }
+
+    @Test
+    void close_shouldLeaveSnapshotOnly() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        store.insert("first", false);
+        wal.close();
+
+        assertEquals(0, Files.size(lastSegment()));
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        open(recovered);
+        assertEquals(1, recovered.size());
+    }
+
+    @Test
+    void recover_shouldRejectCorruptSnapshot() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        store.insert("first", false);
+        wal.close();
+        Path snapshot = directory.resolve("todos.snapshot");
+        byte[] bytes = Files.readAllBytes(snapshot);
+        bytes[bytes.length / 2] ^= 0x7f;
+        Files.write(snapshot, bytes);
+
+        assertThrows(TodoServiceException.class, () -> open(new InMemoryTodoStore(4)));
+    }
+
+    @Test
+    void append_shouldDiscardPartialRecordBeforeNextWrite() {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        FailingWriteAheadLog wal = new FailingWriteAheadLog(store);
+        wal.recover();
+        opened.add(wal);
+        long first = store.insert("first", false).getId();
+        wal.failNextWrite = true;
+        assertThrows(TodoServiceException.class, () -> store.insert("second", false));
+        long third = store.insert("third", false).getId();
+        crash(wal);
+
+        InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+        open(recovered);
+
+        assertEquals(2, recovered.size());
+        assertEquals("first", recovered.find(first).getTitle());
+        assertEquals("third", recovered.find(third).getTitle());
+        assertNull(recovered.findAll().stream()
+                .filter(todo -> "second".equals(todo.getTitle()))
+                .findAny()
+                .orElse(null));
+    }
+
+    @Test
+    void sync_whenForceFails_shouldRejectFurtherWrites() {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        FailingWriteAheadLog wal = new FailingWriteAheadLog(store);
+        wal.recover();
+        opened.add(wal);
+        long first = store.insert("first", false).getId();
+        wal.failNextForce = true;
+
+        assertThrows(TodoServiceException.class, () -> store.insert("second", false));
+        // A later fsync may succeed even though the kernel dropped the pages of the failed one
+        assertThrows(TodoServiceException.class, () -> store.insert("third", false));
+        assertThrows(TodoServiceException.class, () -> store.remove(first));
+        assertEquals("first", store.find(first).getTitle());
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void recover_shouldKeepCompleteRecordsWhenCutAtAnyOffset() throws IOException {
+        InMemoryTodoStore store = new InMemoryTodoStore(4);
+        TodoWriteAheadLog wal = open(store);
+        long first = store.insert("first", false).getId();
+        long firstRecordEnd = Files.size(lastSegment());
+        store.update(first, "first updated", true);
+        crash(wal);
+        Path segment = lastSegment();
+        byte[] log = Files.readAllBytes(segment);
+
+        for (int cut = 0; cut <= log.length; cut++) {
+            Path cutDirectory = Files.createDirectory(directory.resolve("cut-" + cut));
+            Path cutSegment = cutDirectory.resolve(segment.getFileName());
+            Files.write(cutSegment, Arrays.copyOf(log, cut));
+
+            InMemoryTodoStore recovered = new InMemoryTodoStore(4);
+            crash(open(recovered, cutDirectory));
+
+            String message = "cut at offset " + cut;
+            if (cut < firstRecordEnd) {
+                assertEquals(0, recovered.size(), message);
+                assertEquals(0, Files.size(cutSegment), message);
+            } else if (cut < log.length) {
+                assertEquals("first", recovered.find(first).getTitle(), message);
+                assertEquals(firstRecordEnd, Files.size(cutSegment), message);
+            } else {
+                assertEquals("first updated", recovered.find(first).getTitle(), message);
+            }
+        }
+    }
+
+    private TodoWriteAheadLog open(InMemoryTodoStore store) {
+        return open(store, directory);
+    }
+
+    private TodoWriteAheadLog open(InMemoryTodoStore store, Path logDirectory) {
+        TodoWriteAheadLog wal = new TodoWriteAheadLog(store, logDirectory, true, 10);
+        wal.recover();
+        opened.add(wal);
+        return wal;
+    }
+
+    /**
+     * Simulates the process dying: the log is closed as is, without the final checkpoint of {@code close()}.
+     */
+    private static void crash(TodoWriteAheadLog wal) {
+        wal.closeWithoutCheckpoint();
+    }
+
+    private Path lastSegment() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log"))
+                    .sorted()
+                    .reduce((first, second) -> second)
+                    .orElseThrow(IllegalStateException::new);
+        }
+    }
+
+    private long countSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(".log")).count();
+        }
+    }
+
+    /**
+     * Write-ahead log whose next append can be made to fail halfway, like a disk running full,
+     * and whose next fsync can be made to fail, like a disk reporting an I/O error.
+     */
+    private class FailingWriteAheadLog extends TodoWriteAheadLog {
+
+        volatile boolean failNextWrite;
+        volatile boolean failNextForce;
+
+        FailingWriteAheadLog(InMemoryTodoStore store) {
+            super(store, directory, true, 10);
+        }
+
+        @Override
+        FileChannel openChannel(Path path) throws IOException {
+            return new FailingChannel(super.openChannel(path));
+        }
+
+        private class FailingChannel extends FileChannel {
+
+            private final FileChannel delegate;
+
+            FailingChannel(FileChannel delegate) {
+                this.delegate = delegate;
+            }
+
+            @Override
+            public int write(ByteBuffer src) throws IOException {
+                if (!failNextWrite) {
+                    return delegate.write(src);
+                }
+                failNextWrite = false;
+                ByteBuffer half = src.duplicate();
+                half.limit(src.position() + src.remaining() / 2);
+                delegate.write(half);
+                throw new IOException("No space left on device");
+            }
+
+            @Override
+            public int read(ByteBuffer dst) throws IOException {
+                return delegate.read(dst);
+            }
+
+            @Override
+            public long read(ByteBuffer[] dsts, int offset, int length) throws IOException {
+                return delegate.read(dsts, offset, length);
+            }
+
+            @Override
+            public long write(ByteBuffer[] srcs, int offset, int length) throws IOException {
+                return delegate.write(srcs, offset, length);
+            }
+
+            @Override
+            public long position() throws IOException {
+                return delegate.position();
+            }
+
+            @Override
+            public FileChannel position(long newPosition) throws IOException {
+                delegate.position(newPosition);
+                return this;
+            }
+
+            @Override
+            public long size() throws IOException {
+                return delegate.size();
+            }
+
+            @Override
+            public FileChannel truncate(long size) throws IOException {
+                delegate.truncate(size);
+                return this;
+            }
+
+            @Override
+            public void force(boolean metaData) throws IOException {
+                if (failNextForce) {
+                    failNextForce = false;
+                    throw new IOException("Input/output error");
+                }
+                delegate.force(metaData);
+            }
+
+            @Override
+            public long transferTo(long position, long count, WritableByteChannel target) throws IOException {
+                return delegate.transferTo(position, count, target);
+            }
+
+            @Override
+            public long transferFrom(ReadableByteChannel src, long position, long count) throws IOException {
+                return delegate.transferFrom(src, position, count);
+            }
+
+            @Override
+            public int read(ByteBuffer dst, long position) throws IOException {
+                return delegate.read(dst, position);
+            }
+
+            @Override
+            public int write(ByteBuffer src, long position) throws IOException {
+                return delegate.write(src, position);
+            }
+
+            @Override
+            public MappedByteBuffer map(MapMode mode, long position, long size) throws IOException {
+                return delegate.map(mode, position, size);
+            }
+
+            @Override
+            public FileLock lock(long position, long size, boolean shared) throws IOException {
+                return delegate.lock(position, size, shared);
+            }
+
+            @Override
+            public FileLock tryLock(long position, long size, boolean shared) throws IOException {
+                return delegate.tryLock(position, size, shared);
+            }
+
+            @Override
+            protected void implCloseChannel() throws IOException {
+                delegate.close();
+            }
+        }
+    }
+}
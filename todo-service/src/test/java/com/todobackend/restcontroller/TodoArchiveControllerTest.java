@@ -0,0 +1,102 @@
+package com.todobackend.restcontroller;
+
+import com.todobackend.entity.ArchivedTodo;
+import com.todobackend.entity.Todo;
+import com.todobackend.service.TodoArchiveService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+public class TodoArchiveControllerTest {
+
+    private TodoArchiveController todoArchiveController;
+
+    @Mock
+    private TodoArchiveService todoArchiveService;
+
+    @BeforeEach
+    public void setUp() {
+        MockitoAnnotations.openMocks(this);
+        todoArchiveController = new TodoArchiveController(Optional.of(todoArchiveService));
+    }
+
+    @Test
+    public void testArchiveUnavailable() {
+        TodoArchiveController withoutArchive = new TodoArchiveController(Optional.empty());
+
+        assertEquals(HttpStatus.NOT_FOUND, withoutArchive.getArchivedTodos(0, 50).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, withoutArchive.getArchivedTodoById(1L).getStatusCode());
+        assertEquals(HttpStatus.NOT_FOUND, withoutArchive.restoreArchivedTodo(1L).getStatusCode());
+    }
+
+    @Test
+    public void testGetArchivedTodos() {
+        List<ArchivedTodo> archivedTodos = new ArrayList<>();
+        archivedTodos.add(new ArchivedTodo());
+        when(todoArchiveService.getArchivedTodos(0, 50)).thenReturn(archivedTodos);
+
+        ResponseEntity<List<ArchivedTodo>> response = todoArchiveController.getArchivedTodos(0, 50);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals(1, response.getBody().size());
+        verify(todoArchiveService, times(1)).getArchivedTodos(0, 50);
+    }
+
+    @Test
+    public void testGetArchivedTodoById() {
+        ArchivedTodo archivedTodo = new ArchivedTodo();
+        archivedTodo.setTitle("Archived Todo");
+        when(todoArchiveService.getArchivedTodoById(1L)).thenReturn(archivedTodo);
+
+        ResponseEntity<ArchivedTodo> response = todoArchiveController.getArchivedTodoById(1L);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Archived Todo", response.getBody().getTitle());
+    }
+
+    @Test
+    public void testGetArchivedTodoByIdNotFound() {
+        when(todoArchiveService.getArchivedTodoById(1L)).thenReturn(null);
+
+        ResponseEntity<ArchivedTodo> response = todoArchiveController.getArchivedTodoById(1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
+    @Test
+    public void testRestoreArchivedTodo() {
+        Todo todo = new Todo();
+        todo.setTitle("Archived Todo");
+        when(todoArchiveService.restoreArchivedTodo(1L)).thenReturn(todo);
+
+        ResponseEntity<Todo> response = todoArchiveController.restoreArchivedTodo(1L);
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertEquals("Archived Todo", response.getBody().getTitle());
+        verify(todoArchiveService, times(1)).restoreArchivedTodo(1L);
+    }
+
+    @Test
+    public void testRestoreArchivedTodoNotFound() {
+        when(todoArchiveService.restoreArchivedTodo(1L)).thenReturn(null);
+
+        ResponseEntity<Todo> response = todoArchiveController.restoreArchivedTodo(1L);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+}
@@ -1,6 +1,8 @@
 package com.todobackend.restcontroller;
 
 import com.todobackend.entity.Todo;
+import com.todobackend.exception.GlobalExceptionHandler;
+import com.todobackend.exception.TodoConflictException;
 import com.todobackend.service.TodoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -8,13 +10,19 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 public class TodoControllerTest {
 
@@ -81,6 +89,37 @@ public class TodoControllerTest {
         verify(todoService, times(1)).updateTodo(eq(id), any(Todo.class));
     }
 
+    @Test
+    public void testCompareAndSetCompleted() {
+        Long id = 1L;
+        Todo todo = new Todo();
+        todo.setTitle("Test Todo");
+        todo.setCompleted(true);
+
+        when(todoService.compareAndSetCompleted(id, false, true)).thenReturn(todo);
+
+        ResponseEntity<Todo> response = todoController.compareAndSetCompleted(id, false, true);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotNull(response.getBody());
+        assertTrue(response.getBody().isCompleted());
+        verify(todoService, times(1)).compareAndSetCompleted(id, false, true);
+    }
+
+    @Test
+    public void testCompareAndSetCompletedNotFound() {
+        Long id = 1L;
+
+        when(todoService.compareAndSetCompleted(id, false, true)).thenReturn(null);
+
+        ResponseEntity<Todo> response = todoController.compareAndSetCompleted(id, false, true);
+
+        assertNotNull(response);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertNull(response.getBody());
+    }
+
     @Test
     public void testDeleteTodo() {
         Long id = 1L;
@@ -137,6 +176,21 @@ public class TodoControllerTest {
         verify(todoService, times(1)).getTodoById(id);
     }
 
+    @Test
+    public void testUpdateTodoConflict() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(todoController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+        when(todoService.updateTodo(eq(1L), any(Todo.class)))
+                .thenThrow(new TodoConflictException("Failed to update todo with ID: 1 due to concurrent updates"));
+
+        mockMvc.perform(put("/api/todos/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"title\":\"Updated Todo\",\"completed\":true}"))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.error").value("Failed to update todo with ID: 1 due to concurrent updates"));
+    }
+
     @Test
     public void testDeleteAllTodos() {
         ResponseEntity<Void> response = todoController.deleteAllTodos();
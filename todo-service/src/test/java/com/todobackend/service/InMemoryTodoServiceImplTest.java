@@ -0,0 +1,11 @@
+package com.todobackend.service;
+
+import com.todobackend.repository.InMemoryTodoStore;
+
+class InMemoryTodoServiceImplTest extends TodoServiceContractTest {
+
+    @Override
+    protected TodoService createTodoService() {
+        return new InMemoryTodoServiceImpl(new InMemoryTodoStore(4));
+    }
+}
@@ -0,0 +1,84 @@
+package com.todobackend.service;
+
+import com.todobackend.entity.ArchivedTodo;
+import com.todobackend.entity.Todo;
+import com.todobackend.repository.ArchivedTodoRepository;
+import com.todobackend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Archives and restores todos on the H2 database, through the real repositories and transactions.
+ */
+@SpringBootTest(properties = {
+        "todo.archive.enabled=false",
+        "todo.archive.min-age=30d",
+        "todo.archive.chunk-size=2",
+        "todo.archive.pause-ms=0"
+})
+class TodoArchiveServiceImplIntegrationTest {
+
+    @Autowired
+    private TodoArchiveService todoArchiveService;
+
+    @Autowired
+    private TodoRepository todoRepository;
+
+    @Autowired
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @BeforeEach
+    void setUp() {
+        todoRepository.deleteAll();
+        archivedTodoRepository.deleteAll();
+    }
+
+    @Test
+    void archiveAndRestore_shouldMoveTodosBetweenTables() {
+        Instant longAgo = Todo.now().minus(Duration.ofDays(31));
+        Todo aged = save("Aged", true, longAgo);
+        save("Aged 2", true, longAgo);
+        save("Aged 3", true, longAgo);
+        Todo recent = save("Recent", true, null);
+        Todo open = save("Open", false, null);
+
+        // Three aged todos with a chunk size of two: a full chunk, then a partial one
+        assertEquals(3, todoArchiveService.archiveCompletedTodos());
+
+        assertEquals(2, todoRepository.count());
+        assertTrue(todoRepository.existsById(recent.getId()));
+        assertTrue(todoRepository.existsById(open.getId()));
+        assertEquals(3, archivedTodoRepository.count());
+        ArchivedTodo archivedTodo = todoArchiveService.getArchivedTodoById(aged.getId());
+        assertNotNull(archivedTodo);
+        assertEquals("Aged", archivedTodo.getTitle());
+        assertEquals(aged.getCompletedAt(), archivedTodo.getCompletedAt());
+        assertNotNull(archivedTodo.getArchivedAt());
+        assertEquals(3, todoArchiveService.getArchivedTodos(0, 10).size());
+
+        Todo restoredTodo = todoArchiveService.restoreArchivedTodo(aged.getId());
+
+        assertNotNull(restoredTodo);
+        assertNotEquals(aged.getId(), restoredTodo.getId());
+        assertEquals("Aged", restoredTodo.getTitle());
+        assertTrue(todoRepository.existsById(restoredTodo.getId()));
+        assertNull(todoArchiveService.getArchivedTodoById(aged.getId()));
+        assertEquals(2, archivedTodoRepository.count());
+        assertEquals(0, todoArchiveService.archiveCompletedTodos());
+    }
+
+    private Todo save(String title, boolean completed, Instant completedAt) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setCompleted(completed);
+        todo.setCompletedAt(completedAt);
+        return todoRepository.save(todo);
+    }
+}
@@ -0,0 +1,135 @@
+package com.todobackend.service;
+
+import com.todobackend.entity.ArchivedTodo;
+import com.todobackend.entity.Todo;
+import com.todobackend.repository.ArchivedTodoRepository;
+import com.todobackend.repository.TodoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+class TodoArchiveServiceImplTest {
+
+    @Mock
+    private TodoRepository todoRepository;
+
+    @Mock
+    private ArchivedTodoRepository archivedTodoRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TodoArchiveServiceImpl archiveService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        archiveService = new TodoArchiveServiceImpl(todoRepository, archivedTodoRepository, transactionManager,
+                Duration.ofDays(30), 2, 10, 0);
+    }
+
+    @Test
+    void archiveCompletedTodos_shouldMoveTodosInChunks() {
+        when(todoRepository.findByCompletedTrueAndCompletedAtBefore(any(Instant.class), any(Pageable.class)))
+                .thenReturn(todos(1L, 2L))
+                .thenReturn(todos(3L))
+                .thenReturn(Collections.emptyList());
+
+        int archived = archiveService.archiveCompletedTodos();
+
+        assertEquals(3, archived);
+        verify(todoRepository, times(2)).findByCompletedTrueAndCompletedAtBefore(any(Instant.class), any(Pageable.class));
+        verify(archivedTodoRepository, times(2)).saveAll(anyList());
+        verify(todoRepository).deleteAllByIdInBatch(Arrays.asList(1L, 2L));
+        verify(todoRepository).deleteAllByIdInBatch(Arrays.asList(3L));
+    }
+
+    @Test
+    void archiveCompletedTodos_shouldStopAfterMaxChunks() {
+        archiveService = new TodoArchiveServiceImpl(todoRepository, archivedTodoRepository, transactionManager,
+                Duration.ofDays(30), 2, 3, 0);
+        when(todoRepository.findByCompletedTrueAndCompletedAtBefore(any(Instant.class), any(Pageable.class)))
+                .thenReturn(todos(1L, 2L));
+
+        int archived = archiveService.archiveCompletedTodos();
+
+        assertEquals(6, archived);
+        verify(todoRepository, times(3)).findByCompletedTrueAndCompletedAtBefore(any(Instant.class), any(Pageable.class));
+    }
+
+    @Test
+    void archiveCompletedTodos_whenNothingToArchive_shouldReturnZero() {
+        when(todoRepository.findByCompletedTrueAndCompletedAtBefore(any(Instant.class), any(Pageable.class)))
+                .thenReturn(Collections.emptyList());
+
+        assertEquals(0, archiveService.archiveCompletedTodos());
+        verify(archivedTodoRepository, never()).saveAll(anyList());
+    }
+
+    @Test
+    void getArchivedTodoById_whenArchivedTodoDoesNotExist_shouldReturnNull() {
+        when(archivedTodoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertNull(archiveService.getArchivedTodoById(1L));
+    }
+
+    @Test
+    void restoreArchivedTodo_shouldSaveTodoAndDeleteArchivedTodo() {
+        ArchivedTodo archivedTodo = ArchivedTodo.from(todos(1L).get(0), Instant.now());
+        when(archivedTodoRepository.findById(1L)).thenReturn(Optional.of(archivedTodo));
+        when(todoRepository.save(any(Todo.class))).thenAnswer(invocation -> {
+            Todo saved = invocation.getArgument(0);
+            saved.setId(7L);
+            return saved;
+        });
+
+        Todo result = archiveService.restoreArchivedTodo(1L);
+
+        assertNotNull(result);
+        assertEquals(7L, result.getId());
+        assertEquals("Todo 1", result.getTitle());
+        assertTrue(result.isCompleted());
+        ArgumentCaptor<Todo> saved = ArgumentCaptor.forClass(Todo.class);
+        verify(todoRepository).save(saved.capture());
+        assertNull(saved.getValue().getCompletedAt());
+        verify(archivedTodoRepository).delete(archivedTodo);
+    }
+
+    @Test
+    void restoreArchivedTodo_whenArchivedTodoDoesNotExist_shouldReturnNull() {
+        when(archivedTodoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertNull(archiveService.restoreArchivedTodo(1L));
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    private static List<Todo> todos(Long... ids) {
+        List<Todo> todos = new ArrayList<>();
+        for (Long id : ids) {
+            Todo todo = new Todo();
+            todo.setId(id);
+            todo.setTitle("Todo " + id);
+            todo.setCompleted(true);
+            todo.setCompletedAt(Instant.now().minus(Duration.ofDays(60)));
+            todos.add(todo);
+        }
+        return todos;
+    }
+}
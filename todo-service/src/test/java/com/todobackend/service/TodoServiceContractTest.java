@@ -0,0 +1,193 @@
+package com.todobackend.service;
+
+import com.todobackend.entity.Todo;
+import com.todobackend.exception.TodoConflictException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Behaviour every {@link TodoService} engine must share. Each engine runs these
+ * scenarios through its own subclass, so the engines cannot drift apart.
+ */
+abstract class TodoServiceContractTest {
+
+    private static final long MISSING_ID = 999_999L;
+
+    protected TodoService todoService;
+
+    /**
+     * @return the engine under test; it is emptied before every test
+     */
+    protected abstract TodoService createTodoService();
+
+    @BeforeEach
+    void setUpService() {
+        todoService = createTodoService();
+        todoService.deleteAllTodos();
+    }
+
+    @Test
+    void addTodo_shouldReturnSavedTodo() {
+        Todo savedTodo = todoService.addTodo(newTodo("Test Todo"));
+
+        assertNotNull(savedTodo);
+        assertNotNull(savedTodo.getId());
+        assertEquals("Test Todo", savedTodo.getTitle());
+        assertFalse(savedTodo.isCompleted());
+        assertEquals(0L, savedTodo.getVersion());
+    }
+
+    @Test
+    void updateTodo_whenTodoExists_shouldReturnUpdatedTodo() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+
+        Todo updatedTodo = newTodo("Updated Todo");
+        updatedTodo.setCompleted(true);
+
+        Todo result = todoService.updateTodo(id, updatedTodo);
+
+        assertNotNull(result);
+        assertEquals("Updated Todo", result.getTitle());
+        assertTrue(result.isCompleted());
+        assertEquals("Updated Todo", todoService.getTodoById(id).getTitle());
+    }
+
+    @Test
+    void updateTodo_shouldTrackCompletedAt() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+        assertNull(todoService.getTodoById(id).getCompletedAt());
+
+        Todo completedTodo = newTodo("Test Todo");
+        completedTodo.setCompleted(true);
+        Instant completedAt = todoService.updateTodo(id, completedTodo).getCompletedAt();
+        assertNotNull(completedAt);
+
+        completedTodo.setTitle("Renamed Todo");
+        assertEquals(completedAt, todoService.updateTodo(id, completedTodo).getCompletedAt());
+
+        assertNull(todoService.updateTodo(id, newTodo("Renamed Todo")).getCompletedAt());
+        assertNull(todoService.getTodoById(id).getCompletedAt());
+    }
+
+    @Test
+    void updateTodo_whenVersionMatches_shouldBumpVersion() {
+        Todo savedTodo = todoService.addTodo(newTodo("Test Todo"));
+
+        Todo updatedTodo = newTodo("Updated Todo");
+        updatedTodo.setVersion(savedTodo.getVersion());
+
+        assertEquals(1L, todoService.updateTodo(savedTodo.getId(), updatedTodo).getVersion());
+        assertEquals(1L, todoService.getTodoById(savedTodo.getId()).getVersion());
+    }
+
+    @Test
+    void updateTodo_whenVersionIsStale_shouldThrowConflict() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+        todoService.updateTodo(id, newTodo("Other Todo"));
+
+        Todo staleTodo = newTodo("Stale Todo");
+        staleTodo.setVersion(0L);
+
+        assertThrows(TodoConflictException.class, () -> todoService.updateTodo(id, staleTodo));
+        assertEquals("Other Todo", todoService.getTodoById(id).getTitle());
+    }
+
+    @Test
+    void updateTodo_whenTodoDoesNotExist_shouldReturnNull() {
+        Todo result = todoService.updateTodo(MISSING_ID, newTodo("Test Todo"));
+
+        assertNull(result);
+        assertTrue(todoService.getAllTodos().isEmpty());
+    }
+
+    @Test
+    void compareAndSetCompleted_whenTodoHasExpectedValue_shouldReturnUpdatedTodo() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+
+        Todo result = todoService.compareAndSetCompleted(id, false, true);
+
+        assertNotNull(result);
+        assertTrue(result.isCompleted());
+        assertNotNull(result.getCompletedAt());
+        assertTrue(todoService.getTodoById(id).isCompleted());
+        assertEquals(1L, todoService.getTodoById(id).getVersion());
+    }
+
+    @Test
+    void compareAndSetCompleted_whenTodoHasOtherValue_shouldThrowConflict() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+
+        assertThrows(TodoConflictException.class, () -> todoService.compareAndSetCompleted(id, true, false));
+        assertFalse(todoService.getTodoById(id).isCompleted());
+    }
+
+    @Test
+    void compareAndSetCompleted_whenTodoDoesNotExist_shouldReturnNull() {
+        assertNull(todoService.compareAndSetCompleted(MISSING_ID, false, true));
+    }
+
+    @Test
+    void deleteTodo_shouldRemoveTodo() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+
+        todoService.deleteTodo(id);
+
+        assertNull(todoService.getTodoById(id));
+    }
+
+    @Test
+    void deleteTodo_whenTodoDoesNotExist_shouldDoNothing() {
+        todoService.addTodo(newTodo("Test Todo"));
+
+        assertDoesNotThrow(() -> todoService.deleteTodo(MISSING_ID));
+        assertEquals(1, todoService.getAllTodos().size());
+    }
+
+    @Test
+    void getAllTodos_shouldReturnListOfTodos() {
+        todoService.addTodo(newTodo("First Todo"));
+        todoService.addTodo(newTodo("Second Todo"));
+
+        List<Todo> result = todoService.getAllTodos();
+
+        assertNotNull(result);
+        assertEquals(2, result.size());
+    }
+
+    @Test
+    void getTodoById_whenTodoExists_shouldReturnTodo() {
+        Long id = todoService.addTodo(newTodo("Test Todo")).getId();
+
+        Todo result = todoService.getTodoById(id);
+
+        assertNotNull(result);
+        assertEquals("Test Todo", result.getTitle());
+    }
+
+    @Test
+    void getTodoById_whenTodoDoesNotExist_shouldReturnNull() {
+        assertNull(todoService.getTodoById(MISSING_ID));
+    }
+
+    @Test
+    void deleteAllTodos_shouldRemoveAllTodos() {
+        todoService.addTodo(newTodo("First Todo"));
+        todoService.addTodo(newTodo("Second Todo"));
+
+        todoService.deleteAllTodos();
+
+        assertTrue(todoService.getAllTodos().isEmpty());
+    }
+
+    private static Todo newTodo(String title) {
+        Todo todo = new Todo();
+        todo.setTitle(title);
+        todo.setCompleted(false);
+        return todo;
+    }
+}
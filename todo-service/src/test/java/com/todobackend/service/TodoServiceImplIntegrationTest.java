@@ -0,0 +1,19 @@
+package com.todobackend.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Runs the {@link TodoService} contract against {@link TodoServiceImpl} on the H2 database.
+ */
+@SpringBootTest
+class TodoServiceImplIntegrationTest extends TodoServiceContractTest {
+
+    @Autowired
+    private TodoService jpaTodoService;
+
+    @Override
+    protected TodoService createTodoService() {
+        return jpaTodoService;
+    }
+}
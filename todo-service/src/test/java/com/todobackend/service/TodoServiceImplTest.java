@@ -2,12 +2,14 @@ package com.todobackend.service;
 
 
 import com.todobackend.entity.Todo;
+import com.todobackend.exception.TodoConflictException;
 import com.todobackend.repository.TodoRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -15,6 +17,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 class TodoServiceImplTest {
@@ -22,7 +26,9 @@ class TodoServiceImplTest {
     @Mock
     private TodoRepository todoRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
     private TodoServiceImpl todoService;
 
     private Todo todo;
@@ -30,6 +36,7 @@ class TodoServiceImplTest {
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        todoService = new TodoServiceImpl(todoRepository, transactionManager, 5, 5, 100);
         todo = new Todo();
         todo.setId(1L);
         todo.setTitle("Test Todo");
@@ -76,6 +83,109 @@ class TodoServiceImplTest {
         verify(todoRepository, never()).save(any(Todo.class));
     }
 
+    @Test
+    void updateTodo_whenConcurrentUpdateConflicts_shouldRetry() {
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        when(todoRepository.save(any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L))
+                .thenReturn(todo);
+
+        Todo updatedTodo = new Todo();
+        updatedTodo.setTitle("Updated Todo");
+
+        Todo result = todoService.updateTodo(1L, updatedTodo);
+
+        assertNotNull(result);
+        assertEquals("Updated Todo", result.getTitle());
+        verify(todoRepository, times(2)).findById(1L);
+        verify(todoRepository, times(2)).save(any(Todo.class));
+    }
+
+    @Test
+    void updateTodo_whenConflictsPersist_shouldGiveUpAfterMaxAttempts() {
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        when(todoRepository.save(any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L));
+
+        assertThrows(TodoConflictException.class, () -> todoService.updateTodo(1L, todo));
+
+        verify(todoRepository, times(5)).save(any(Todo.class));
+    }
+
+    @Test
+    void updateTodo_whenVersionMatches_shouldUpdate() {
+        todo.setVersion(3L);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        when(todoRepository.save(any(Todo.class))).thenReturn(todo);
+
+        Todo updatedTodo = new Todo();
+        updatedTodo.setTitle("Updated Todo");
+        updatedTodo.setVersion(3L);
+
+        Todo result = todoService.updateTodo(1L, updatedTodo);
+
+        assertNotNull(result);
+        assertEquals("Updated Todo", result.getTitle());
+    }
+
+    @Test
+    void updateTodo_whenVersionIsStale_shouldThrowConflictWithoutRetry() {
+        todo.setVersion(4L);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+
+        Todo updatedTodo = new Todo();
+        updatedTodo.setTitle("Updated Todo");
+        updatedTodo.setVersion(3L);
+
+        assertThrows(TodoConflictException.class, () -> todoService.updateTodo(1L, updatedTodo));
+        assertEquals("Test Todo", todo.getTitle());
+        verify(todoRepository, times(1)).findById(1L);
+        verify(todoRepository, never()).save(any(Todo.class));
+    }
+
+    @Test
+    void updateTodo_whenVersionedUpdateLosesRace_shouldThrowConflictWithoutRetry() {
+        todo.setVersion(3L);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+        when(todoRepository.save(any(Todo.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Todo.class, 1L));
+
+        Todo updatedTodo = new Todo();
+        updatedTodo.setTitle("Updated Todo");
+        updatedTodo.setVersion(3L);
+
+        assertThrows(TodoConflictException.class, () -> todoService.updateTodo(1L, updatedTodo));
+        verify(todoRepository, times(1)).save(any(Todo.class));
+    }
+
+    @Test
+    void compareAndSetCompleted_whenTodoHasExpectedValue_shouldReturnUpdatedTodo() {
+        when(todoRepository.compareAndSetCompleted(eq(1L), eq(false), eq(true), any())).thenReturn(1);
+        todo.setCompleted(true);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+
+        Todo result = todoService.compareAndSetCompleted(1L, false, true);
+
+        assertNotNull(result);
+        assertTrue(result.isCompleted());
+    }
+
+    @Test
+    void compareAndSetCompleted_whenTodoHasOtherValue_shouldThrowConflict() {
+        when(todoRepository.compareAndSetCompleted(eq(1L), eq(true), eq(false), any())).thenReturn(0);
+        when(todoRepository.findById(1L)).thenReturn(Optional.of(todo));
+
+        assertThrows(TodoConflictException.class, () -> todoService.compareAndSetCompleted(1L, true, false));
+    }
+
+    @Test
+    void compareAndSetCompleted_whenTodoDoesNotExist_shouldReturnNull() {
+        when(todoRepository.compareAndSetCompleted(eq(1L), anyBoolean(), anyBoolean(), any())).thenReturn(0);
+        when(todoRepository.findById(1L)).thenReturn(Optional.empty());
+
+        assertNull(todoService.compareAndSetCompleted(1L, false, true));
+    }
+
     @Test
     void deleteTodo_shouldInvokeRepositoryDeleteById() {
         doNothing().when(todoRepository).deleteById(1L);